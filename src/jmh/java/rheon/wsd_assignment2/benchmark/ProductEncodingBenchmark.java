@@ -0,0 +1,92 @@
+package rheon.wsd_assignment2.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.ProductResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductEncodingBenchmark {
+
+    private static final TypeReference<ApiResponse<List<ProductResponse>>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1", "20"})
+    private int products;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<ProductResponse>> envelope;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile()
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> page = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            page.add(new ProductResponse((long) i + 1, "노트북 " + i, 1500000 + i, "고성능 게이밍 노트북", 10 + i, now, now, 3L));
+        }
+        envelope = ApiResponse.success(page, "Products found", "bmV4dA");
+        encoded = objectMapper.writeValueAsBytes(envelope);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long encodedBytes;
+        public long encodedMessages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodedBytes = 0;
+            encodedMessages = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(envelope);
+        size.encodedBytes += bytes.length;
+        size.encodedMessages++;
+        return bytes;
+    }
+
+    @Benchmark
+    public ApiResponse<List<ProductResponse>> decode() throws IOException {
+        return objectMapper.readValue(encoded, PAGE_TYPE);
+    }
+}
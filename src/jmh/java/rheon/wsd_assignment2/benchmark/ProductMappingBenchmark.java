@@ -0,0 +1,76 @@
+package rheon.wsd_assignment2.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMappingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Product product;
+    private ProductResponse response;
+    private List<ProductResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        product = Product.builder()
+                .id(1L)
+                .name("노트북")
+                .price(1500000)
+                .description("고성능 게이밍 노트북")
+                .stock(10)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+        response = ProductResponse.from(product);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(response);
+        }
+    }
+
+    @Benchmark
+    public ProductResponse mapEntityToResponse() {
+        return ProductResponse.from(product);
+    }
+
+    @Benchmark
+    public ApiResponse<ProductResponse> wrapInEnvelope() {
+        return ApiResponse.success(response, "Product retrieved successfully");
+    }
+
+    @Benchmark
+    public byte[] serializeSingleEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(ProductResponse.from(product)));
+    }
+
+    @Benchmark
+    public byte[] serializeSearchPageEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(page, "Products found", "bmV4dA"));
+    }
+}
@@ -0,0 +1,138 @@
+package rheon.wsd_assignment2.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rheon.wsd_assignment2.WsdAssignment2Application;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.entity.Product;
+import rheon.wsd_assignment2.repository.ProductRepository;
+import rheon.wsd_assignment2.service.ProductService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductReadPathBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final String SEARCH_PATTERN = "%Product-0%";
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(WsdAssignment2Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cache.type=none",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        ProductService productService = context.getBean(ProductService.class);
+        ids = new ArrayList<>(PRODUCTS);
+        for (int start = 0; start < PRODUCTS; start += SEED_CHUNK_SIZE) {
+            List<ProductCreateRequest> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = start; i < start + SEED_CHUNK_SIZE; i++) {
+                chunk.add(new ProductCreateRequest(String.format("Product-%05d", i), 1000 + i, "benchmark", 100));
+            }
+            productService.bulkCreateProducts(chunk).getResults()
+                    .forEach(result -> ids.add(result.getId()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse getByIdEntity() {
+        Long id = randomId();
+        return readOnlyTransaction.execute(status -> productRepository.findById(id)
+                .map(ProductResponse::from)
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public ProductResponse getByIdProjection() {
+        Long id = randomId();
+        return readOnlyTransaction.execute(status -> productRepository.findResponseById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchEntity() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select p from Product p where p.name like :pattern order by p.name, p.id", Product.class)
+                .setParameter("pattern", SEARCH_PATTERN)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(ProductResponse::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchProjection() {
+        return readOnlyTransaction.execute(status ->
+                productRepository.searchResponsesByName(SEARCH_PATTERN, Limit.of(pageSize)));
+    }
+
+    @Benchmark
+    public List<ProductResponse> batchEntity() {
+        List<Long> batch = randomIds();
+        return readOnlyTransaction.execute(status -> productRepository.findAllById(batch).stream()
+                .map(ProductResponse::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponse> batchProjection() {
+        List<Long> batch = randomIds();
+        return readOnlyTransaction.execute(status -> productRepository.findResponsesByIdIn(batch));
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private List<Long> randomIds() {
+        int start = ThreadLocalRandom.current().nextInt(ids.size() - pageSize);
+        return ids.subList(start, start + pageSize);
+    }
+}
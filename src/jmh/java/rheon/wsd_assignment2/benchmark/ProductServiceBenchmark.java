@@ -0,0 +1,156 @@
+package rheon.wsd_assignment2.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import rheon.wsd_assignment2.WsdAssignment2Application;
+import rheon.wsd_assignment2.common.CursorPage;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.dto.ProductStockAdjustRequest;
+import rheon.wsd_assignment2.dto.ProductStockResponse;
+import rheon.wsd_assignment2.dto.ProductStockUpdateRequest;
+import rheon.wsd_assignment2.service.ProductService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    public abstract static class Catalog {
+
+        @Param({"10000"})
+        int products;
+
+        ConfigurableApplicationContext context;
+        ProductService productService;
+        List<Long> ids;
+
+        void start(String cacheType) {
+            context = new SpringApplicationBuilder(WsdAssignment2Application.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.cache.type=" + cacheType,
+                            "spring.jpa.show-sql=false",
+                            "logging.level.root=WARN"
+                    )
+                    .run();
+            productService = context.getBean(ProductService.class);
+
+            ids = new ArrayList<>(products);
+            for (int start = 0; start < products; start += SEED_CHUNK_SIZE) {
+                List<ProductCreateRequest> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+                for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, products); i++) {
+                    chunk.add(new ProductCreateRequest(String.format("Product-%05d", i), 1000 + i, "benchmark", 1_000_000));
+                }
+                productService.bulkCreateProducts(chunk).getResults()
+                        .forEach(result -> ids.add(result.getId()));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        Long randomId() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CachedCatalog extends Catalog {
+
+        @Param({"caffeine", "none"})
+        String cacheType;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start(cacheType);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchCatalog extends Catalog {
+
+        @Param({"20", "100"})
+        int searchSize;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start("caffeine");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WriteCatalog extends Catalog {
+
+        final AtomicLong nameSequence = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            start("caffeine");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CreatedProduct {
+
+        Long id;
+
+        @TearDown(Level.Invocation)
+        public void delete(WriteCatalog catalog) {
+            if (id != null) {
+                catalog.productService.deleteProduct(id);
+                id = null;
+            }
+        }
+    }
+
+    @Benchmark
+    public ProductResponse getById(CachedCatalog catalog) {
+        return catalog.productService.getProductById(catalog.randomId());
+    }
+
+    @Benchmark
+    public CursorPage<ProductResponse> searchByName(SearchCatalog catalog) {
+        return catalog.productService.searchProducts("Product-0", null, catalog.searchSize);
+    }
+
+    @Benchmark
+    public ProductResponse create(WriteCatalog catalog, CreatedProduct created) {
+        ProductResponse product = catalog.productService.createProduct(
+                new ProductCreateRequest("Created-" + catalog.nameSequence.incrementAndGet(), 1000, "benchmark", 10));
+        created.id = product.getId();
+        return product;
+    }
+
+    @Benchmark
+    public ProductResponse updateStock(WriteCatalog catalog) {
+        return catalog.productService.updateProductStock(
+                catalog.randomId(), new ProductStockUpdateRequest(ThreadLocalRandom.current().nextInt(1, 1_000_000)), null);
+    }
+
+    @Benchmark
+    public ProductStockResponse adjustStock(WriteCatalog catalog) {
+        return catalog.productService.adjustProductStock(
+                catalog.randomId(), new ProductStockAdjustRequest(ThreadLocalRandom.current().nextBoolean() ? 1 : -1));
+    }
+}
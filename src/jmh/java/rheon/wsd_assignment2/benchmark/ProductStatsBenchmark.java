@@ -0,0 +1,95 @@
+package rheon.wsd_assignment2.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import rheon.wsd_assignment2.WsdAssignment2Application;
+import rheon.wsd_assignment2.dto.CatalogSummaryResponse;
+import rheon.wsd_assignment2.dto.LowStockResponse;
+import rheon.wsd_assignment2.dto.PriceBucketResponse;
+import rheon.wsd_assignment2.stats.ProductCatalogColumns;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductStatsBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+    private static final String INSERT_SQL = "insert into products (id, name, price, description, stock, created_at, updated_at, version) "
+            + "values (?, ?, ?, 'benchmark', ?, ?, ?, 0)";
+    private static final String SUMMARY_SQL = "select count(*), sum(stock), sum(cast(price as bigint) * stock), "
+            + "sum(case when stock <= 0 then 1 else 0 end), min(price), max(price), avg(cast(price as double)) from products";
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private ProductCatalogColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(WsdAssignment2Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        columns = context.getBean(ProductCatalogColumns.class);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int start = 0; start < products; start += SEED_CHUNK_SIZE) {
+            List<Object[]> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, products); i++) {
+                chunk.add(new Object[]{i + 1L, String.format("Product-%07d", i), 100 + (i * 7919) % 200_000, i % 500, now, now});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, chunk);
+        }
+        columns.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CatalogSummaryResponse summaryColumns() {
+        return columns.summary();
+    }
+
+    @Benchmark
+    public Map<String, Object> summarySql() {
+        return jdbcTemplate.queryForMap(SUMMARY_SQL);
+    }
+
+    @Benchmark
+    public List<PriceBucketResponse> priceHistogramColumns() {
+        return columns.priceHistogram(1000);
+    }
+
+    @Benchmark
+    public LowStockResponse lowStockColumns() {
+        return columns.lowStock(10, 100);
+    }
+}
@@ -0,0 +1,49 @@
+package rheon.wsd_assignment2.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import rheon.wsd_assignment2.WsdAssignment2Application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AppLauncher implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private AppLauncher(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static AppLauncher start(List<String> profiles, long dbLatencyMs) {
+        return start(profiles, dbLatencyMs, List.of());
+    }
+
+    public static AppLauncher start(List<String> profiles, long dbLatencyMs, List<String> extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "loadtest.db-latency-ms=" + dbLatencyMs,
+                "admission-control.enabled=false"
+        ));
+        properties.addAll(extraProperties);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                WsdAssignment2Application.class, LatencyInjectingDataSourcePostProcessor.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties(properties.toArray(String[]::new))
+                .run();
+        return new AppLauncher(context);
+    }
+
+    public String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
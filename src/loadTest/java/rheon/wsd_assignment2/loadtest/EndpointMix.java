@@ -0,0 +1,74 @@
+package rheon.wsd_assignment2.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class EndpointMix {
+
+    private final LoadTestEndpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private EndpointMix(List<LoadTestEndpoint> endpoints, List<Integer> weights) {
+        this.endpoints = endpoints.toArray(LoadTestEndpoint[]::new);
+        this.cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulativeWeights[i] = sum;
+        }
+        this.totalWeight = sum;
+    }
+
+    static EndpointMix parse(String spec) {
+        List<LoadTestEndpoint> endpoints = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight but got " + part);
+            }
+            int weight = Integer.parseInt(pair[1]);
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be positive: " + part);
+            }
+            endpoints.add(LoadTestEndpoint.fromKey(pair[0]));
+            weights.add(weight);
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Endpoint mix is empty");
+        }
+        return new EndpointMix(endpoints, weights);
+    }
+
+    LoadTestEndpoint next(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    List<LoadTestEndpoint> endpoints() {
+        return List.of(endpoints);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            int weight = cumulativeWeights[i] - previous;
+            previous = cumulativeWeights[i];
+            builder.append(endpoints[i].key()).append(' ')
+                    .append(String.format("%.1f%%", weight * 100.0 / totalWeight));
+        }
+        return builder.toString();
+    }
+}
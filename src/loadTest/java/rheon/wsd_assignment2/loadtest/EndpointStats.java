@@ -0,0 +1,50 @@
+package rheon.wsd_assignment2.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void record(int status, long latencyNanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        failures.increment();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long requests() {
+        return histogram.getTotalCount();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long errors() {
+        return serverErrors.sum() + failures.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package rheon.wsd_assignment2.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class LatencyInjectingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final long latencyMs;
+
+    public LatencyInjectingDataSourcePostProcessor(Environment environment) {
+        this.latencyMs = environment.getProperty("loadtest.db-latency-ms", Long.class, 0L);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (latencyMs <= 0 || !(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                simulateRoundTrip();
+                return connection;
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                Connection connection = super.getConnection(username, password);
+                simulateRoundTrip();
+                return connection;
+            }
+        };
+    }
+
+    private void simulateRoundTrip() {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package rheon.wsd_assignment2.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX = "get:80,search:10,stock:8,create:2";
+    private static final int BULK_CREATE_SIZE = 10;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+    private final EndpointMix mix;
+    private final HttpClient client;
+    private final AtomicLong nameSequence = new AtomicLong();
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final LongAdder shed = new LongAdder();
+    private List<Long> seededIds = List.of();
+
+    private LoadTest(String baseUrl, EndpointMix mix) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        EndpointMix mix = EndpointMix.parse(options.get("mix", DEFAULT_MIX));
+        int concurrency = options.getInt("concurrency", 64);
+        int rate = options.getInt("rate", 0);
+        int maxInFlight = options.getInt("max-in-flight", 10_000);
+        Duration warmup = Duration.ofSeconds(options.getInt("warmup", 10));
+        Duration duration = Duration.ofSeconds(options.getInt("duration", 30));
+        int products = options.getInt("products", 10_000);
+        long dbLatencyMs = options.getLong("db-latency-ms", 0);
+        List<String> profiles = Arrays.stream(options.get("profiles", "").split(","))
+                .filter(profile -> !profile.isBlank())
+                .toList();
+        Path reportDirectory = Path.of(options.get("report-dir", "build/reports/loadtest"));
+        String admissionControl = options.get("admission-control", "false");
+
+        System.out.printf("mix=[%s]%n", mix);
+        System.out.printf("%s warmup=%ds duration=%ds products=%d db-latency=%dms profiles=%s admission-control=%s%n",
+                rate > 0 ? "rate=" + rate + "/s" : "concurrency=" + concurrency,
+                warmup.toSeconds(), duration.toSeconds(), products, dbLatencyMs, profiles, admissionControl);
+
+        try (AppLauncher app = AppLauncher.start(profiles, dbLatencyMs,
+                List.of("admission-control.enabled=" + admissionControl))) {
+            LoadTest loadTest = new LoadTest(app.baseUrl(), mix);
+            loadTest.seededIds = ProductSeeder.seed(loadTest.client, app.baseUrl(), products);
+
+            loadTest.run(rate, concurrency, maxInFlight, warmup);
+            Map<LoadTestEndpoint, EndpointStats> stats = loadTest.run(rate, concurrency, maxInFlight, duration);
+            loadTest.report(stats, duration, System.out);
+            loadTest.writeHistograms(stats, reportDirectory);
+        }
+    }
+
+    private Map<LoadTestEndpoint, EndpointStats> run(int rate, int concurrency, int maxInFlight, Duration duration)
+            throws InterruptedException {
+        Map<LoadTestEndpoint, EndpointStats> stats = new EnumMap<>(LoadTestEndpoint.class);
+        for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        shed.reset();
+        long deadline = System.nanoTime() + duration.toNanos();
+        if (rate > 0) {
+            runOpenModel(stats, rate, maxInFlight, deadline);
+        } else {
+            runClosedModel(stats, concurrency, deadline);
+        }
+        return stats;
+    }
+
+    private void runClosedModel(Map<LoadTestEndpoint, EndpointStats> stats, int concurrency, long deadline) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(stats, System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    private void runOpenModel(Map<LoadTestEndpoint, EndpointStats> stats, int rate, int maxInFlight, long deadline)
+            throws InterruptedException {
+        long intervalNanos = 1_000_000_000L / rate;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intendedStart = System.nanoTime();
+            while (intendedStart < deadline) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    shed.increment();
+                } else {
+                    long scheduled = intendedStart;
+                    executor.submit(() -> {
+                        try {
+                            execute(stats, scheduled);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                intendedStart += intervalNanos;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void execute(Map<LoadTestEndpoint, EndpointStats> stats, long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LoadTestEndpoint endpoint = mix.next(random);
+        Long deletableId = null;
+        if (endpoint == LoadTestEndpoint.DELETE) {
+            deletableId = createdIds.poll();
+            if (deletableId == null) {
+                endpoint = LoadTestEndpoint.CREATE;
+            }
+        }
+        HttpRequest request = buildRequest(endpoint, random, deletableId);
+        EndpointStats endpointStats = stats.get(endpoint);
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(response.statusCode(), System.nanoTime() - intendedStart);
+            if (endpoint == LoadTestEndpoint.CREATE && response.statusCode() == 201) {
+                rememberCreatedId(response.body());
+            }
+        } catch (IOException e) {
+            endpointStats.recordFailure(System.nanoTime() - intendedStart);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest buildRequest(LoadTestEndpoint endpoint, ThreadLocalRandom random, Long deletableId) {
+        long id = seededIds.get(random.nextInt(seededIds.size()));
+        return switch (endpoint) {
+            case GET -> get("/api/products/" + id);
+            case SEARCH -> get("/api/products/search?name=Product-" + random.nextInt(100) + "&size=20");
+            case CREATE -> json("/api/products", "POST", productJson("LoadTest-" + nameSequence.incrementAndGet(), 10));
+            case BULK_CREATE -> {
+                StringBuilder body = new StringBuilder("[");
+                for (int i = 0; i < BULK_CREATE_SIZE; i++) {
+                    if (i > 0) {
+                        body.append(',');
+                    }
+                    body.append(productJson("LoadTestBulk-" + nameSequence.incrementAndGet(), 10));
+                }
+                yield json("/api/products/bulk", "POST", body.append(']').toString());
+            }
+            case UPDATE -> json("/api/products/" + id, "PUT", productJson("Product-" + id + "-updated", 1_000_000));
+            case STOCK_UPDATE -> json("/api/products/" + id + "/stock", "PUT",
+                    "{\"stock\":" + random.nextInt(500_000, 1_000_000) + "}");
+            case STOCK_ADJUST -> json("/api/products/" + id + "/stock", "PATCH",
+                    "{\"delta\":" + (random.nextBoolean() ? 1 : -1) + "}");
+            case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + deletableId)).DELETE().build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest json(String path, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String productJson(String name, int stock) {
+        return "{\"name\":\"" + name + "\",\"price\":1000,\"description\":\"load test\",\"stock\":" + stock + "}";
+    }
+
+    private void rememberCreatedId(String body) throws IOException {
+        JsonNode id = objectMapper.readTree(body).path("data").path("id");
+        if (id.canConvertToLong()) {
+            createdIds.add(id.asLong());
+        }
+    }
+
+    private void report(Map<LoadTestEndpoint, EndpointStats> stats, Duration duration, PrintStream out) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf("%n%-12s %10s %10s %9s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "4xx", "errors");
+        Histogram total = new Histogram(3);
+        long totalClientErrors = 0;
+        long totalErrors = 0;
+        for (LoadTestEndpoint endpoint : mix.endpoints()) {
+            EndpointStats endpointStats = stats.get(endpoint);
+            Histogram histogram = endpointStats.histogram().copy();
+            total.add(histogram);
+            totalClientErrors += endpointStats.clientErrors();
+            totalErrors += endpointStats.errors();
+            printRow(out, endpoint.key(), histogram, seconds, endpointStats.clientErrors(), endpointStats.errors());
+        }
+        printRow(out, "total", total, seconds, totalClientErrors, totalErrors);
+        long requests = total.getTotalCount();
+        out.printf("%nerror rate: %.3f%% (%d of %d), shed by client: %d%n",
+                requests > 0 ? totalErrors * 100.0 / requests : 0.0, totalErrors, requests, shed.sum());
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, double seconds,
+                                 long clientErrors, long errors) {
+        out.printf("%-12s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %8d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                clientErrors,
+                errors);
+    }
+
+    private void writeHistograms(Map<LoadTestEndpoint, EndpointStats> stats, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (LoadTestEndpoint endpoint : mix.endpoints()) {
+            Path file = directory.resolve(endpoint.key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                stats.get(endpoint).histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.printf("HDR percentile distributions (ms) written to %s%n", directory.toAbsolutePath());
+    }
+}
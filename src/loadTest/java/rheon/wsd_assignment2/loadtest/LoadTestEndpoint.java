@@ -0,0 +1,32 @@
+package rheon.wsd_assignment2.loadtest;
+
+import java.util.Arrays;
+
+enum LoadTestEndpoint {
+    GET("get"),
+    SEARCH("search"),
+    CREATE("create"),
+    BULK_CREATE("bulk-create"),
+    UPDATE("update"),
+    STOCK_UPDATE("stock"),
+    STOCK_ADJUST("stock-delta"),
+    DELETE("delete");
+
+    private final String key;
+
+    LoadTestEndpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static LoadTestEndpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(LoadTestEndpoint::key).toList()));
+    }
+}
@@ -0,0 +1,52 @@
+package rheon.wsd_assignment2.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ProductSeeder {
+
+    private static final int SEED_CHUNK_SIZE = 500;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductSeeder() {
+    }
+
+    static List<Long> seed(HttpClient client, String baseUrl, int products) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(products);
+        for (int start = 0; start < products; start += SEED_CHUNK_SIZE) {
+            int end = Math.min(start + SEED_CHUNK_SIZE, products);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = start; i < end; i++) {
+                if (i > start) {
+                    body.append(',');
+                }
+                body.append("{\"name\":\"Product-").append(i)
+                        .append("\",\"price\":").append(1000 + i)
+                        .append(",\"description\":\"load test\",\"stock\":1000000}");
+            }
+            body.append(']');
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/bulk"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body()).path("data").path("results")) {
+                if (result.hasNonNull("id")) {
+                    ids.add(result.get("id").asLong());
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,191 @@
+package rheon.wsd_assignment2.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class VirtualThreadBenchmark {
+
+    private VirtualThreadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        int concurrency = options.getInt("concurrency", 2000);
+        int durationSeconds = options.getInt("duration", 20);
+        int warmupSeconds = options.getInt("warmup", 5);
+        int products = options.getInt("products", 1000);
+        long dbLatencyMs = options.getLong("db-latency-ms", 10);
+        int poolSize = options.getInt("pool-size", 10);
+        long connectionTimeoutMs = options.getLong("connection-timeout-ms", 30000);
+        String admissionControl = options.get("admission-control", "false");
+        List<String> appProperties = List.of(
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.connection-timeout=" + connectionTimeoutMs,
+                "admission-control.enabled=" + admissionControl
+        );
+
+        System.out.printf("concurrency=%d duration=%ds warmup=%ds products=%d db-latency=%dms pool-size=%d connection-timeout=%dms admission-control=%s%n",
+                concurrency, durationSeconds, warmupSeconds, products, dbLatencyMs, poolSize, connectionTimeoutMs, admissionControl);
+
+        List<Result> results = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            try (AppLauncher app = AppLauncher.start(mode.profiles, dbLatencyMs, appProperties)) {
+                Driver driver = new Driver(app.baseUrl(), products);
+                driver.seed();
+                driver.run(concurrency, Duration.ofSeconds(warmupSeconds));
+                Result result = driver.run(concurrency, Duration.ofSeconds(durationSeconds));
+                results.add(result.named(mode.name()));
+            }
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %10s%n", "mode", "requests", "req/s", "p50(ms)", "p99(ms)", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12d %10.1f %10.2f %10.2f %10d%n",
+                    result.name, result.requests, result.throughput(), result.percentileMs(50), result.percentileMs(99), result.errors);
+        }
+    }
+
+    private enum Mode {
+        PLATFORM(List.of()),
+        VIRTUAL(List.of("virtual"));
+
+        private final List<String> profiles;
+
+        Mode(List<String> profiles) {
+            this.profiles = profiles;
+        }
+    }
+
+    private static final class Driver {
+
+        private final String baseUrl;
+        private final int products;
+        private final HttpClient client;
+        private List<Long> ids = List.of();
+
+        private Driver(String baseUrl, int products) {
+            this.baseUrl = baseUrl;
+            this.products = products;
+            this.client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+        }
+
+        private void seed() throws Exception {
+            ids = ProductSeeder.seed(client, baseUrl, products);
+        }
+
+        private Result run(int concurrency, Duration duration) throws Exception {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<Worker>> futures = new ArrayList<>(concurrency);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < concurrency; i++) {
+                    futures.add(executor.submit(() -> new Worker().loop(deadline)));
+                }
+            }
+            List<Worker> workers = new ArrayList<>(concurrency);
+            for (Future<Worker> future : futures) {
+                workers.add(future.get());
+            }
+            return new Result(duration, workers);
+        }
+
+        private HttpRequest nextRequest(ThreadLocalRandom random) {
+            long id = ids.get(random.nextInt(ids.size()));
+            int roll = random.nextInt(100);
+            if (roll < 70) {
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + id)).GET().build();
+            }
+            if (roll < 90) {
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/search?name=Product-" + random.nextInt(100) + "&size=20"))
+                        .GET().build();
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + id + "/stock"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"delta\":" + (random.nextBoolean() ? 1 : -1) + "}"))
+                    .build();
+        }
+
+        private final class Worker {
+
+            private long[] latencies = new long[1024];
+            private int count;
+            private long errors;
+
+            private Worker loop(long deadline) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = nextRequest(random);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 500) {
+                            errors++;
+                        }
+                    } catch (Exception e) {
+                        errors++;
+                    }
+                    record(System.nanoTime() - start);
+                }
+                return this;
+            }
+
+            private void record(long nanos) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = nanos;
+            }
+        }
+    }
+
+    private static final class Result {
+
+        private final Duration duration;
+        private final long[] latencies;
+        private final long requests;
+        private final long errors;
+        private String name;
+
+        private Result(Duration duration, List<Driver.Worker> workers) {
+            this.duration = duration;
+            this.requests = workers.stream().mapToLong(worker -> worker.count).sum();
+            this.errors = workers.stream().mapToLong(worker -> worker.errors).sum();
+            this.latencies = new long[(int) requests];
+            int offset = 0;
+            for (Driver.Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(latencies);
+        }
+
+        private Result named(String name) {
+            this.name = name;
+            return this;
+        }
+
+        private double throughput() {
+            return requests / (duration.toMillis() / 1000.0);
+        }
+
+        private double percentileMs(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package rheon.wsd_assignment2.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rheon.wsd_assignment2.coalesce.SingleFlight;
+import rheon.wsd_assignment2.config.CacheConfig;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final SingleFlight singleFlight;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        singleFlight.invalidate();
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case UPDATED, STOCK_UPDATED, DELETED -> event.getProductIds().forEach(cache::evict);
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package rheon.wsd_assignment2.coalesce;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rheon.wsd_assignment2.datasource.ReadYourWrites;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private static final String METRIC_NAME = "singleflight.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        if (ReadYourWrites.isPinned()
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            counter(name, "bypassed").increment();
+            return loader.get();
+        }
+
+        Key flightKey = new Key(name, key, generation.get());
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, future);
+        if (existing != null) {
+            counter(name, "coalesced").increment();
+            return (T) await(existing);
+        }
+
+        counter(name, "executed").increment();
+        try {
+            T result = loader.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, future);
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String name, String outcome) {
+        return counters.computeIfAbsent(name + '.' + outcome, ignored -> Counter.builder(METRIC_NAME)
+                .description("Reads grouped by whether they ran, joined an identical in-flight call, or bypassed coalescing")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private record Key(String name, Object key, long generation) {
+    }
+}
@@ -1,5 +1,6 @@
 package rheon.wsd_assignment2.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,19 +13,26 @@ public class ApiResponse<T> {
     private T data;
     private String message;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public static <T> ApiResponse<T> success(T data) {
-        return new ApiResponse<>("success", data, null);
+        return new ApiResponse<>("success", data, null, null);
     }
 
     public static <T> ApiResponse<T> success(T data, String message) {
-        return new ApiResponse<>("success", data, message);
+        return new ApiResponse<>("success", data, message, null);
+    }
+
+    public static <T> ApiResponse<T> success(T data, String message, String nextCursor) {
+        return new ApiResponse<>("success", data, message, nextCursor);
     }
 
     public static <T> ApiResponse<T> error(String message) {
-        return new ApiResponse<>("error", null, message);
+        return new ApiResponse<>("error", null, message, null);
     }
 
     public static <T> ApiResponse<T> error(T data, String message) {
-        return new ApiResponse<>("error", data, message);
+        return new ApiResponse<>("error", data, message, null);
     }
 }
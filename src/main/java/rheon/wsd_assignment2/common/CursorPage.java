@@ -0,0 +1,13 @@
+package rheon.wsd_assignment2.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+}
@@ -0,0 +1,33 @@
+package rheon.wsd_assignment2.common;
+
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+
+public enum DataFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    DataFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static DataFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            for (DataFormat candidate : values()) {
+                if (candidate.name().equalsIgnoreCase(format)) {
+                    return candidate;
+                }
+            }
+            throw new InvalidRequestException("Unsupported format: " + format);
+        }
+        if (contentType != null && contentType.startsWith(CSV.mediaType)) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
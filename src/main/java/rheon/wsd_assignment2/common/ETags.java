@@ -0,0 +1,54 @@
+package rheon.wsd_assignment2.common;
+
+import rheon.wsd_assignment2.dto.ProductResponse;
+
+import java.util.List;
+
+public final class ETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    public static String of(Long id, Long version, Integer stock) {
+        return "\"" + id + "-" + version + "-" + stock + "\"";
+    }
+
+    public static String of(ProductResponse product) {
+        return of(product.getId(), product.getVersion(), product.getStock());
+    }
+
+    public static String of(List<ProductResponse> products, String nextCursor) {
+        long hash = FNV_OFFSET_BASIS;
+        for (ProductResponse product : products) {
+            hash = mix(hash, product.getId());
+            hash = mix(hash, product.getVersion() != null ? product.getVersion() : -1L);
+            hash = mix(hash, product.getStock() != null ? product.getStock() : -1L);
+        }
+        hash = mix(hash, nextCursor != null ? nextCursor.hashCode() : 0);
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    public static boolean matches(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,43 @@
+package rheon.wsd_assignment2.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class SearchCursor {
+
+    private static final String INDEX_SOURCE = "i:";
+    private static final String DATABASE_SOURCE = "d:";
+
+    private final String name;
+    private final Long id;
+    // The name index and the database may order names differently, so a cursor only continues on the path that issued it
+    private final boolean indexed;
+
+    public String encode() {
+        String raw = (indexed ? INDEX_SOURCE : DATABASE_SOURCE) + id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            boolean indexed = raw.startsWith(INDEX_SOURCE);
+            if (!indexed && !raw.startsWith(DATABASE_SOURCE)) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            int separator = raw.indexOf(':', 2);
+            if (separator <= 2) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(2, separator)), indexed);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
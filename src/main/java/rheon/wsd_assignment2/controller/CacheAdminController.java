@@ -0,0 +1,45 @@
+package rheon.wsd_assignment2.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.CacheStatsResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag(name = "Cache Admin API", description = "캐시 통계 API")
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final CacheManager cacheManager;
+
+    @Operation(summary = "캐시 통계 조회", description = "캐시별 적중/미적중/제거 통계를 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+                stats.add(CacheStatsResponse.of(name, nativeCache.estimatedSize(), nativeCache.stats()));
+            }
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(stats));
+    }
+}
@@ -0,0 +1,65 @@
+package rheon.wsd_assignment2.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.HotStockResponse;
+import rheon.wsd_assignment2.stock.StockWriteBehind;
+
+import java.util.List;
+
+@Tag(name = "Hot Stock Admin API", description = "쓰기 지연 재고 관리 API")
+@RestController
+@RequestMapping("/api/admin/hot-products")
+@RequiredArgsConstructor
+public class HotStockAdminController {
+
+    private final StockWriteBehind stockWriteBehind;
+
+    @Operation(summary = "쓰기 지연 상품 목록", description = "메모리에서 재고를 관리 중인 상품과 미반영 증감량을 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<HotStockResponse>>> getHotProducts() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(stockWriteBehind.getTrackedProducts()));
+    }
+
+    @Operation(summary = "쓰기 지연 모드 전환", description = "상품의 재고 증감을 메모리에서 처리하고 주기적으로 DB에 반영합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "전환 성공")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<HotStockResponse>> trackProduct(
+            @Parameter(description = "상품 ID") @PathVariable Long id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(stockWriteBehind.track(id), "Product switched to write-behind stock mode"));
+    }
+
+    @Operation(summary = "쓰기 지연 모드 해제", description = "미반영 증감량을 DB에 반영한 뒤 직접 갱신 모드로 되돌립니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "해제 성공")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> untrackProduct(
+            @Parameter(description = "상품 ID") @PathVariable Long id) {
+        stockWriteBehind.untrack(id);
+        return ResponseEntity
+                .status(HttpStatus.NO_CONTENT)
+                .build();
+    }
+}
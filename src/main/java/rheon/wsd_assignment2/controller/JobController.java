@@ -0,0 +1,51 @@
+package rheon.wsd_assignment2.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.ErrorResponse;
+import rheon.wsd_assignment2.dto.JobResponse;
+import rheon.wsd_assignment2.job.JobRegistry;
+
+@Tag(name = "Job API", description = "백그라운드 작업 상태 API")
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobRegistry jobRegistry;
+
+    @Operation(summary = "작업 상태 조회", description = "백그라운드 작업의 진행 상황을 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "작업을 찾을 수 없음",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Job not found with id: 1\"}"
+                            )
+                    )
+            )
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<JobResponse>> getJob(
+            @Parameter(description = "작업 ID") @PathVariable String id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(JobResponse.from(jobRegistry.getJob(id))));
+    }
+}
@@ -0,0 +1,60 @@
+package rheon.wsd_assignment2.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rheon.wsd_assignment2.dto.ErrorResponse;
+import rheon.wsd_assignment2.dto.ProductChangeNotification;
+import rheon.wsd_assignment2.stream.ProductChangeStream;
+
+@Tag(name = "Product Change Stream API", description = "상품 변경 이벤트 스트림 API")
+@RestController
+@RequestMapping("/api/products/changes")
+@RequiredArgsConstructor
+public class ProductChangeController {
+
+    private final ProductChangeStream productChangeStream;
+
+    @Operation(summary = "상품 변경 구독",
+            description = "상품 생성/수정/재고 변경/삭제가 커밋될 때마다 Server-Sent Events로 변경 이벤트를 전송합니다. "
+                    + "Last-Event-ID 헤더 또는 since 파라미터로 이전 이벤트 id 이후부터 이어 받을 수 있으며, "
+                    + "보관 범위를 벗어났거나 서버가 재시작되어 epoch가 다른 경우 reset 이벤트가 먼저 전송됩니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "구독 성공 (text/event-stream)",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ProductChangeNotification.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "구독자 수 초과",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Too many change stream subscribers, retry later\"}"
+                            )
+                    )
+            )
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "이 이벤트 id(epoch-sequence) 이후의 이벤트부터 수신") @RequestParam(required = false) String since,
+            @Parameter(hidden = true) @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return productChangeStream.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
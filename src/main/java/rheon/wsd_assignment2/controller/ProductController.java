@@ -7,21 +7,45 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.common.CursorPage;
+import rheon.wsd_assignment2.common.DataFormat;
+import rheon.wsd_assignment2.common.ETags;
+import rheon.wsd_assignment2.config.AsyncTimeoutConfig;
 import rheon.wsd_assignment2.dto.ErrorResponse;
+import rheon.wsd_assignment2.dto.JobResponse;
+import rheon.wsd_assignment2.dto.ProductBatchResponse;
+import rheon.wsd_assignment2.dto.ProductBulkCreateResponse;
 import rheon.wsd_assignment2.dto.ProductCreateRequest;
 import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.dto.ProductStockAdjustRequest;
+import rheon.wsd_assignment2.dto.ProductStockResponse;
 import rheon.wsd_assignment2.dto.ProductStockUpdateRequest;
 import rheon.wsd_assignment2.dto.ProductUpdateRequest;
+import rheon.wsd_assignment2.job.ImportJob;
+import rheon.wsd_assignment2.job.JobStatus;
+import rheon.wsd_assignment2.job.PurgeJob;
+import rheon.wsd_assignment2.service.ProductExportService;
+import rheon.wsd_assignment2.service.ProductImportService;
+import rheon.wsd_assignment2.service.ProductPurgeService;
 import rheon.wsd_assignment2.service.ProductService;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 
 @Tag(name = "Product API", description = "상품 관리 API")
 @Slf4j
@@ -31,6 +55,12 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductPurgeService productPurgeService;
+
+    @Value("${product.export.timeout:30m}")
+    private Duration exportTimeout;
 
     @Operation(summary = "상품 생성", description = "새로운 상품을 생성합니다.")
     @ApiResponses(value = {
@@ -65,9 +95,9 @@ public class ProductController {
                 .body(ApiResponse.success(product, "Product created successfully"));
     }
 
-    @Operation(summary = "대량 상품 생성", description = "대량으로 상품을 생성합니다. (내부 서버 오류 처리 시연)")
+    @Operation(summary = "대량 상품 생성", description = "상품 목록을 한 번에 생성하고 항목별 결과(CREATED, DUPLICATE, INVALID)를 반환합니다.")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "상품 생성 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "대량 생성 처리 완료"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "500",
                     description = "서버 내부 오류",
@@ -80,17 +110,97 @@ public class ProductController {
             )
     })
     @PostMapping("/bulk")
-    public ResponseEntity<ApiResponse<ProductResponse>> bulkCreateProduct(
-            @Valid @RequestBody ProductCreateRequest request) {
-        ProductResponse product = productService.bulkCreateProduct(request);
+    public ResponseEntity<ApiResponse<ProductBulkCreateResponse>> bulkCreateProducts(
+            @RequestBody List<ProductCreateRequest> requests) {
+        ProductBulkCreateResponse result = productService.bulkCreateProducts(requests);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(ApiResponse.success(product, "Product created in bulk successfully"));
+                .body(ApiResponse.success(result, "Bulk product creation completed"));
+    }
+
+    @Operation(summary = "상품 가져오기",
+            description = "NDJSON 또는 CSV 본문을 스트리밍으로 읽어 1000건 단위로 커밋합니다. async=true이면 백그라운드 작업으로 실행하고 작업 ID를 반환합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "가져오기 완료"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "백그라운드 작업 시작"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "가져오기 데이터를 해석할 수 없음",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": {\"status\": \"FAILED\"}, \"message\": \"Invalid import data: CSV header must contain name, price and stock columns\"}"
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500",
+                    description = "가져오기 중단",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": {\"status\": \"FAILED\"}, \"message\": \"Import aborted: Connection reset\"}"
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "실행 중인 가져오기 작업이 너무 많음",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Too many imports in progress, retry later\"}"
+                            )
+                    )
+            )
+    })
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<JobResponse>> importProducts(
+            @Parameter(description = "데이터 형식 (ndjson, csv). 생략 시 Content-Type으로 판단") @RequestParam(required = false) String format,
+            @Parameter(description = "백그라운드 실행 여부") @RequestParam(defaultValue = "false") boolean async,
+            HttpServletRequest request) throws IOException {
+        DataFormat dataFormat = DataFormat.resolve(format, request.getContentType());
+        if (async) {
+            ImportJob job = productImportService.importProductsAsync(request.getInputStream(), dataFormat);
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/jobs/" + job.getId()))
+                    .body(ApiResponse.success(JobResponse.from(job), "Product import started"));
+        }
+        ImportJob job = productImportService.importProducts(request.getInputStream(), dataFormat);
+        if (job.getStatus() == JobStatus.FAILED) {
+            return ResponseEntity
+                    .status(job.isInvalidInput() ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(JobResponse.from(job), job.getMessage()));
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(JobResponse.from(job), "Product import finished"));
+    }
+
+    @Operation(summary = "상품 내보내기", description = "전체 상품을 NDJSON 또는 CSV로 스트리밍합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "내보내기 성공")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "데이터 형식 (ndjson, csv)") @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) {
+        DataFormat dataFormat = DataFormat.resolve(format, null);
+        AsyncTimeoutConfig.setTimeout(request, exportTimeout);
+        StreamingResponseBody body = outputStream -> productExportService.exportProducts(dataFormat, outputStream);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(dataFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + dataFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .body(body);
     }
 
     @Operation(summary = "상품 조회", description = "ID로 특정 상품을 조회합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "상품을 찾을 수 없음",
@@ -108,12 +218,62 @@ public class ProductController {
         ProductResponse product = productService.getProductById(id);
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(product))
+                .varyBy(HttpHeaders.ACCEPT)
                 .body(ApiResponse.success(product));
     }
 
-    @Operation(summary = "상품 검색", description = "상품명으로 상품을 검색합니다.")
+    @Operation(summary = "상품 다건 조회", description = "여러 상품을 한 번에 조회합니다. 결과는 요청 순서를 따르며, 없는 ID는 missingIds로 반환됩니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "요청 ID 수 초과",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"At most 10000 ids can be requested at once\"}"
+                            )
+                    )
+            )
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<ProductBatchResponse>> getProductsByIds(
+            @Parameter(description = "상품 ID 목록 (쉼표 구분)") @RequestParam List<Long> ids) {
+        ProductBatchResponse products = productService.getProductsByIds(ids);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(products));
+    }
+
+    @Operation(summary = "상품 다건 조회 (POST)", description = "URL 길이 제한을 넘는 대량 ID 목록을 본문으로 받아 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponse<ProductBatchResponse>> lookupProducts(
+            @RequestBody List<Long> ids) {
+        ProductBatchResponse products = productService.getProductsByIds(ids);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(products));
+    }
+
+    @Operation(summary = "상품 검색",
+            description = "상품명으로 상품을 검색합니다. (상품명, ID) 순으로 정렬되며, 다음 페이지는 응답의 nextCursor를 cursor로 전달해 조회합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "검색 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 페이지 크기 또는 커서",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Page size must be between 1 and 100\"}"
+                            )
+                    )
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "검색 결과 없음",
@@ -127,16 +287,30 @@ public class ProductController {
     })
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<ProductResponse>>> searchProducts(
-            @Parameter(description = "검색할 상품명") @RequestParam String name) {
-        List<ProductResponse> products = productService.searchProducts(name);
+            @Parameter(description = "검색할 상품명") @RequestParam String name,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (1~100)") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ProductResponse> page = productService.searchProducts(name, cursor, size);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(ApiResponse.success(products, "Products found"));
+                .eTag(ETags.of(page.getContent(), page.getNextCursor()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(ApiResponse.success(page.getContent(), "Products found", page.getNextCursor()));
     }
 
     @Operation(summary = "상품 정보 수정", description = "상품의 전체 정보를 수정합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "수정 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match 불일치",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Product 1 has changed, current ETag is \\\"1-3-10\\\"\"}"
+                            )
+                    )
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "상품을 찾을 수 없음",
@@ -151,16 +325,28 @@ public class ProductController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> updateProduct(
             @Parameter(description = "상품 ID") @PathVariable Long id,
+            @Parameter(description = "조건부 수정용 ETag") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductUpdateRequest request) {
-        ProductResponse product = productService.updateProduct(id, request);
+        ProductResponse product = productService.updateProduct(id, request, ifMatch);
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(product))
                 .body(ApiResponse.success(product, "Product updated successfully"));
     }
 
     @Operation(summary = "상품 재고 수정", description = "상품의 재고만 수정합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "재고 수정 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match 불일치",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Product 1 has changed, current ETag is \\\"1-3-10\\\"\"}"
+                            )
+                    )
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "상품을 찾을 수 없음",
@@ -175,13 +361,60 @@ public class ProductController {
     @PutMapping("/{id}/stock")
     public ResponseEntity<ApiResponse<ProductResponse>> updateProductStock(
             @Parameter(description = "상품 ID") @PathVariable Long id,
+            @Parameter(description = "조건부 수정용 ETag") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductStockUpdateRequest request) {
-        ProductResponse product = productService.updateProductStock(id, request);
+        ProductResponse product = productService.updateProductStock(id, request, ifMatch);
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(ETags.of(product))
                 .body(ApiResponse.success(product, "Product stock updated successfully"));
     }
 
+    @Operation(summary = "상품 재고 증감",
+            description = "재고를 원자적으로 증감합니다. 결과 재고가 0 미만이 되는 요청은 409, 정수 범위를 넘는 요청은 400으로 거절됩니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "재고 증감 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "재고가 정수 범위를 넘음",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Stock adjustment overflows for product id: 1\"}"
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "상품을 찾을 수 없음",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Product not found with id: 1\"}"
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "재고 부족",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"Insufficient stock for product id: 1\"}"
+                            )
+                    )
+            )
+    })
+    @PatchMapping("/{id}/stock")
+    public ResponseEntity<ApiResponse<ProductStockResponse>> adjustProductStock(
+            @Parameter(description = "상품 ID") @PathVariable Long id,
+            @Valid @RequestBody ProductStockAdjustRequest request) {
+        ProductStockResponse stock = productService.adjustProductStock(id, request);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(stock, "Product stock adjusted successfully"));
+    }
+
     @Operation(summary = "상품 삭제", description = "특정 상품을 삭제합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "삭제 성공"),
@@ -205,9 +438,12 @@ public class ProductController {
                 .build();
     }
 
-    @Operation(summary = "전체 상품 삭제", description = "모든 상품을 삭제합니다.")
+    @Operation(summary = "전체 상품 삭제",
+            description = "모든 상품을 id 구간 단위로 일괄 삭제합니다. 상품 수가 많으면 백그라운드 작업으로 실행되며 202와 작업 정보를 반환합니다. "
+                    + "이미 삭제 작업이 진행 중이면 해당 작업을 반환합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "삭제 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "백그라운드 삭제 작업 시작 (진행 상황은 /api/jobs/{id})"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "500",
                     description = "서버 내부 오류",
@@ -220,8 +456,14 @@ public class ProductController {
             )
     })
     @DeleteMapping
-    public ResponseEntity<ApiResponse<Void>> deleteAllProducts() {
-        productService.deleteAllProducts();
+    public ResponseEntity<ApiResponse<JobResponse>> deleteAllProducts() {
+        PurgeJob job = productPurgeService.purgeAllProducts();
+        if (job.getStatus() == JobStatus.RUNNING) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/jobs/" + job.getId()))
+                    .body(ApiResponse.success(JobResponse.from(job), "Product purge started"));
+        }
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
@@ -0,0 +1,81 @@
+package rheon.wsd_assignment2.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.CatalogSummaryResponse;
+import rheon.wsd_assignment2.dto.LowStockResponse;
+import rheon.wsd_assignment2.dto.PriceBucketResponse;
+import rheon.wsd_assignment2.stats.ProductCatalogColumns;
+
+import java.util.List;
+
+@Tag(name = "Product Stats API", description = "상품 재고 통계 API")
+@RestController
+@RequestMapping("/api/products/stats")
+@RequiredArgsConstructor
+public class ProductStatsController {
+
+    private final ProductCatalogColumns productCatalogColumns;
+
+    @Operation(summary = "재고 요약 통계", description = "상품 수, 전체 재고 수량/금액, 품절 상품 수, 가격 범위를 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "통계 준비 중")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<CatalogSummaryResponse>> getSummary() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(productCatalogColumns.summary()));
+    }
+
+    @Operation(summary = "가격 히스토그램", description = "고정 폭 가격 구간별 상품 수와 재고 수량/금액을 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 구간 폭")
+    })
+    @GetMapping("/price-histogram")
+    public ResponseEntity<ApiResponse<List<PriceBucketResponse>>> getPriceHistogram(
+            @Parameter(description = "구간 폭") @RequestParam(defaultValue = "10000") int bucketWidth) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(productCatalogColumns.priceHistogram(bucketWidth)));
+    }
+
+    @Operation(summary = "가격대별 통계", description = "지정한 경계값으로 나눈 가격대별 상품 수와 재고 수량/금액을 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 경계값")
+    })
+    @GetMapping("/price-bands")
+    public ResponseEntity<ApiResponse<List<PriceBucketResponse>>> getPriceBands(
+            @Parameter(description = "가격대 경계값 목록 (오름차순, 쉼표 구분)") @RequestParam List<Integer> bounds) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(productCatalogColumns.priceBands(bounds)));
+    }
+
+    @Operation(summary = "재고 부족 상품", description = "재고가 기준 미만인 상품을 재고가 적은 순으로 조회합니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 조회 개수")
+    })
+    @GetMapping("/low-stock")
+    public ResponseEntity<ApiResponse<LowStockResponse>> getLowStock(
+            @Parameter(description = "기준 재고") @RequestParam(defaultValue = "10") int threshold,
+            @Parameter(description = "최대 조회 개수 (1~1000)") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(productCatalogColumns.lowStock(threshold, limit)));
+    }
+}
@@ -0,0 +1,48 @@
+package rheon.wsd_assignment2.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import rheon.wsd_assignment2.common.ApiResponse;
+import rheon.wsd_assignment2.dto.ErrorResponse;
+import rheon.wsd_assignment2.dto.SnapshotResponse;
+import rheon.wsd_assignment2.snapshot.ProductSnapshotStore;
+
+@Tag(name = "Snapshot Admin API", description = "상품 스냅샷 관리 API")
+@RestController
+@RequestMapping("/api/admin/snapshot")
+@RequiredArgsConstructor
+public class SnapshotAdminController {
+
+    private final ProductSnapshotStore productSnapshotStore;
+
+    @Operation(summary = "상품 스냅샷 저장", description = "현재 상품 테이블 전체를 바이너리 스냅샷 파일로 저장합니다. 재시작 시 이 파일에서 카탈로그를 복원할 수 있습니다.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "저장 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "이미 스냅샷 저장 중",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    value = "{\"status\": \"error\", \"data\": null, \"message\": \"A product snapshot is already in progress\"}"
+                            )
+                    )
+            )
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponse<SnapshotResponse>> takeSnapshot() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ApiResponse.success(productSnapshotStore.takeSnapshot(), "Product snapshot written"));
+    }
+}
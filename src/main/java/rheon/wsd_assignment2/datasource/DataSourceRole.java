@@ -0,0 +1,6 @@
+package rheon.wsd_assignment2.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,42 @@
+package rheon.wsd_assignment2.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Map<DataSourceRole, Counter> routed = new EnumMap<>(DataSourceRole.class);
+    private volatile boolean replicaReady;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        for (DataSourceRole role : DataSourceRole.values()) {
+            routed.put(role, Counter.builder("datasource.routing")
+                    .description("Physical connections requested through the read/write router")
+                    .tag("target", role.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void markReplicaReady() {
+        replicaReady = true;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRole role = replicaReady
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.isPinned()
+                ? DataSourceRole.REPLICA
+                : DataSourceRole.PRIMARY;
+        routed.get(role).increment();
+        return role;
+    }
+}
@@ -0,0 +1,168 @@
+package rheon.wsd_assignment2.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rheon.wsd_assignment2.config.CacheConfig;
+import rheon.wsd_assignment2.config.DataSourceRoutingConfig;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.search.SearchResponseCache;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReplicaSynchronizer {
+
+    private static final String COLUMNS = "id, name, price, description, stock, created_at, updated_at, version";
+    private static final String SELECT_PAGE_SQL = "select " + COLUMNS + " from products where id > ? order by id limit ?";
+    private static final String SELECT_BY_IDS_SQL = "select " + COLUMNS + " from products where id in (:ids)";
+    private static final String MERGE_SQL = "merge into products (" + COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_SQL = "delete from products where id = ?";
+    private static final List<String> SCHEMA_STATEMENT_PREFIXES = List.of(
+            "CREATE MEMORY TABLE", "CREATE CACHED TABLE", "ALTER TABLE", "CREATE INDEX", "CREATE UNIQUE INDEX");
+    private static final RowMapper<Object[]> ROW_MAPPER = (rs, rowNum) -> {
+        Object[] row = new Object[8];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    };
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate primary;
+    private final NamedParameterJdbcTemplate primaryNamed;
+    private final JdbcTemplate replica;
+    private final CacheManager cacheManager;
+    private final SearchResponseCache searchResponseCache;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Timer applyTimer;
+    private volatile boolean ready;
+
+    public ReplicaSynchronizer(@Qualifier(DataSourceRoutingConfig.PRIMARY_DATA_SOURCE) DataSource primaryDataSource,
+                               @Qualifier(DataSourceRoutingConfig.REPLICA_DATA_SOURCE) DataSource replicaDataSource,
+                               DataSource dataSource,
+                               CacheManager cacheManager,
+                               SearchResponseCache searchResponseCache,
+                               MeterRegistry meterRegistry) throws SQLException {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.primaryNamed = new NamedParameterJdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.cacheManager = cacheManager;
+        this.searchResponseCache = searchResponseCache;
+        this.routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        this.applyTimer = Timer.builder("replica.replication.apply")
+                .description("Time to copy a batch of changed products to the replica")
+                .register(meterRegistry);
+        Gauge.builder("replica.replication.pending", pending, Set::size)
+                .description("Changed products not yet copied to the replica")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void initialize() {
+        createSchema();
+        long copied = 0;
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = primary.query(SELECT_PAGE_SQL, ROW_MAPPER, afterId, BATCH_SIZE);
+            if (!page.isEmpty()) {
+                replica.batchUpdate(MERGE_SQL, page);
+                afterId = ((Number) page.get(page.size() - 1)[0]).longValue();
+                copied += page.size();
+            }
+        } while (page.size() == BATCH_SIZE);
+        invalidateCaches(null);
+        ready = true;
+        routingDataSource.markReplicaReady();
+        log.info("Replica initialized with {} products", copied);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        pending.addAll(event.getProductIds());
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.replication-interval-ms:50}")
+    public void replicate() {
+        if (!ready || pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        try {
+            applyTimer.record(() -> {
+                for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                    apply(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+                }
+            });
+            // Cache entries filled from the replica between the commit and this copy may hold the old row
+            invalidateCaches(ids);
+        } catch (DataAccessException e) {
+            pending.addAll(ids);
+            log.error("Replica sync failed, {} products will be retried", ids.size(), e);
+        }
+    }
+
+    private void apply(List<Long> ids) {
+        List<Object[]> rows = primaryNamed.query(SELECT_BY_IDS_SQL, Map.of("ids", ids), ROW_MAPPER);
+        Set<Long> present = new HashSet<>();
+        for (Object[] row : rows) {
+            present.add(((Number) row[0]).longValue());
+        }
+        List<Object[]> deleted = ids.stream()
+                .filter(id -> !present.contains(id))
+                .map(id -> new Object[]{id})
+                .toList();
+        replica.batchUpdate(MERGE_SQL, rows);
+        replica.batchUpdate(DELETE_SQL, deleted);
+    }
+
+    private void createSchema() {
+        replica.execute("drop table if exists products");
+        for (String statement : primary.queryForList("script nodata nopasswords nosettings table products", String.class)) {
+            if (SCHEMA_STATEMENT_PREFIXES.stream().anyMatch(statement::startsWith)) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    private void invalidateCaches(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            if (ids == null) {
+                cache.clear();
+            } else {
+                ids.forEach(cache::evict);
+            }
+        }
+        searchResponseCache.invalidate();
+    }
+}
@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.dto;
+
+public enum BulkItemStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,43 @@
+package rheon.wsd_assignment2.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "캐시 통계")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    @Schema(description = "캐시 이름", example = "products")
+    private String name;
+
+    @Schema(description = "현재 항목 수 (추정치)", example = "512")
+    private long size;
+
+    @Schema(description = "적중 횟수", example = "9500")
+    private long hitCount;
+
+    @Schema(description = "미적중 횟수", example = "500")
+    private long missCount;
+
+    @Schema(description = "적중률", example = "0.95")
+    private double hitRate;
+
+    @Schema(description = "크기/만료로 제거된 항목 수", example = "12")
+    private long evictionCount;
+
+    public static CacheStatsResponse of(String name, long size, CacheStats stats) {
+        return new CacheStatsResponse(
+                name,
+                size,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "상품 재고 요약 통계")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSummaryResponse {
+
+    @Schema(description = "상품 수", example = "1000000")
+    private long productCount;
+
+    @Schema(description = "전체 재고 수량", example = "52340000")
+    private long totalStock;
+
+    @Schema(description = "전체 재고 금액 (가격 × 재고의 합)", example = "73276000000")
+    private long totalStockValue;
+
+    @Schema(description = "품절 상품 수", example = "1520")
+    private long outOfStockCount;
+
+    @Schema(description = "최저 가격 (상품이 없으면 null)", example = "100")
+    private Integer minPrice;
+
+    @Schema(description = "최고 가격 (상품이 없으면 null)", example = "2500000")
+    private Integer maxPrice;
+
+    @Schema(description = "평균 가격", example = "14000.5")
+    private double averagePrice;
+}
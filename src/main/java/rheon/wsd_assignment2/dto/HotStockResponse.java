@@ -0,0 +1,22 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "쓰기 지연 재고 상태")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockResponse {
+
+    @Schema(description = "상품 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "메모리상 현재 재고", example = "120")
+    private long stock;
+
+    @Schema(description = "아직 DB에 반영되지 않은 재고 증감량", example = "-35")
+    private long pendingDelta;
+}
@@ -0,0 +1,51 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import rheon.wsd_assignment2.job.BackgroundJob;
+import rheon.wsd_assignment2.job.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Schema(description = "백그라운드 작업 상태")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+
+    @Schema(description = "작업 ID", example = "6f1c2a8e-3b1d-4c55-9d1e-2b7f0c9a4e11")
+    private String id;
+
+    @Schema(description = "작업 종류", example = "PRODUCT_IMPORT")
+    private String type;
+
+    @Schema(description = "작업 상태", example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(description = "시작일시", example = "2025-11-10T12:00:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "종료일시", example = "2025-11-10T12:05:00", nullable = true)
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "결과 메시지", nullable = true)
+    private String message;
+
+    @Schema(description = "진행 상황")
+    private Map<String, Object> progress;
+
+    public static JobResponse from(BackgroundJob job) {
+        return new JobResponse(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getMessage(),
+                job.getProgress()
+        );
+    }
+}
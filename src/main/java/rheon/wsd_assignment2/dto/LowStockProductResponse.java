@@ -0,0 +1,22 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "재고 부족 상품")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockProductResponse {
+
+    @Schema(description = "상품 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "가격", example = "15000")
+    private int price;
+
+    @Schema(description = "재고 수량", example = "3")
+    private int stock;
+}
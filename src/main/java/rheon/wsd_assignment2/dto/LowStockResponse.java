@@ -0,0 +1,24 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "재고 부족 상품 목록")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockResponse {
+
+    @Schema(description = "기준 재고 (이 값 미만이면 재고 부족)", example = "10")
+    private int threshold;
+
+    @Schema(description = "재고 부족 상품 총 개수", example = "1520")
+    private long totalCount;
+
+    @Schema(description = "재고가 적은 순으로 정렬된 상품 (최대 limit개)")
+    private List<LowStockProductResponse> products;
+}
@@ -0,0 +1,28 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "가격 구간별 통계")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketResponse {
+
+    @Schema(description = "구간 하한 (포함)", example = "10000")
+    private int lowerBound;
+
+    @Schema(description = "구간 상한 (미포함, 마지막 구간이면 null)", example = "20000")
+    private Integer upperBound;
+
+    @Schema(description = "구간 내 상품 수", example = "4200")
+    private long productCount;
+
+    @Schema(description = "구간 내 재고 수량", example = "210000")
+    private long totalStock;
+
+    @Schema(description = "구간 내 재고 금액", example = "3150000000")
+    private long totalStockValue;
+}
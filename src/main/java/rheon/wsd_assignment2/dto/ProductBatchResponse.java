@@ -0,0 +1,21 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "다건 조회 응답")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    @Schema(description = "조회된 상품 (요청 순서)")
+    private List<ProductResponse> products;
+
+    @Schema(description = "존재하지 않는 상품 ID", example = "[42]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,44 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "대량 상품 생성 응답")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkCreateResponse {
+
+    @Schema(description = "요청 항목 수", example = "3")
+    private int requested;
+
+    @Schema(description = "생성된 항목 수", example = "1")
+    private int created;
+
+    @Schema(description = "중복으로 건너뛴 항목 수", example = "1")
+    private int duplicates;
+
+    @Schema(description = "유효성 검증에 실패한 항목 수", example = "1")
+    private int invalid;
+
+    @Schema(description = "항목별 결과 (요청 순서)")
+    private List<ProductBulkItemResult> results;
+
+    public static ProductBulkCreateResponse of(List<ProductBulkItemResult> results) {
+        int created = 0;
+        int duplicates = 0;
+        int invalid = 0;
+        for (ProductBulkItemResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+            }
+        }
+        return new ProductBulkCreateResponse(results.size(), created, duplicates, invalid, results);
+    }
+}
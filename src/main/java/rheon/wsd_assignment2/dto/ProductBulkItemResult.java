@@ -0,0 +1,41 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "대량 생성 항목별 결과")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkItemResult {
+
+    @Schema(description = "요청 목록 내 순번", example = "0")
+    private int index;
+
+    @Schema(description = "상품명", example = "노트북")
+    private String name;
+
+    @Schema(description = "처리 결과", example = "CREATED")
+    private BulkItemStatus status;
+
+    @Schema(description = "생성된 상품 ID (생성 실패 시 null)", example = "1", nullable = true)
+    private Long id;
+
+    @Schema(description = "실패 사유", nullable = true)
+    private String message;
+
+    public static ProductBulkItemResult created(int index, String name, Long id) {
+        return new ProductBulkItemResult(index, name, BulkItemStatus.CREATED, id, null);
+    }
+
+    public static ProductBulkItemResult duplicate(int index, String name) {
+        return new ProductBulkItemResult(index, name, BulkItemStatus.DUPLICATE, null,
+                "Product with name '" + name + "' already exists");
+    }
+
+    public static ProductBulkItemResult invalid(int index, String name, String message) {
+        return new ProductBulkItemResult(index, name, BulkItemStatus.INVALID, null, message);
+    }
+}
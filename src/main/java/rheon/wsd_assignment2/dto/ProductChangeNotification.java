@@ -0,0 +1,35 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import rheon.wsd_assignment2.event.ProductChangeType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "상품 변경 이벤트")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeNotification {
+
+    @Schema(description = "프로세스 식별자 (재시작 시 변경, SSE id는 epoch-sequence)", example = "mh3k2p1c")
+    private String epoch;
+
+    @Schema(description = "프로세스 내 이벤트 순번", example = "42")
+    private long sequence;
+
+    @Schema(description = "변경 종류", example = "STOCK_UPDATED")
+    private ProductChangeType type;
+
+    @Schema(description = "변경된 상품 ID 목록 (ALL_DELETED이면 빈 목록)", example = "[1, 2]")
+    private List<Long> productIds;
+
+    @Schema(description = "ALL_DELETED일 때 이 ID 이하의 상품이 모두 삭제됨", example = "100000", nullable = true)
+    private Long upToProductId;
+
+    @Schema(description = "변경 커밋 시각", example = "2025-11-10T12:00:00")
+    private LocalDateTime occurredAt;
+}
@@ -37,6 +37,9 @@ public class ProductResponse {
     @Schema(description = "수정일시", example = "2025-11-10T12:00:00")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "버전 (수정될 때마다 증가)", example = "0")
+    private Long version;
+
     public static ProductResponse from(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
@@ -46,6 +49,11 @@ public class ProductResponse {
                 .stock(product.getStock())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
+
+    public ProductResponse withStock(Integer stock) {
+        return new ProductResponse(id, name, price, description, stock, createdAt, updatedAt, version);
+    }
 }
@@ -0,0 +1,18 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "재고 증감 요청")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockAdjustRequest {
+
+    @Schema(description = "재고 증감량 (입고는 양수, 출고는 음수)", example = "-3")
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
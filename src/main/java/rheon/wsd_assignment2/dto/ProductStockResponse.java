@@ -0,0 +1,19 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "재고 응답")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockResponse {
+
+    @Schema(description = "상품 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "변경 후 재고 수량", example = "7")
+    private Integer stock;
+}
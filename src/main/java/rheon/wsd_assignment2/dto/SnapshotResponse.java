@@ -0,0 +1,25 @@
+package rheon.wsd_assignment2.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "상품 스냅샷 결과")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotResponse {
+
+    @Schema(description = "스냅샷 파일 경로", example = "/tmp/wsd-products.snapshot")
+    private String file;
+
+    @Schema(description = "저장된 상품 수", example = "1000000")
+    private long products;
+
+    @Schema(description = "파일 크기 (바이트)", example = "73400320")
+    private long bytes;
+
+    @Schema(description = "소요 시간 (밀리초)", example = "1840")
+    private long durationMs;
+}
@@ -0,0 +1,18 @@
+package rheon.wsd_assignment2.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "stock_journal_checkpoints")
+@Getter
+@NoArgsConstructor
+public class StockJournalCheckpoint {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_segment", nullable = false)
+    private Long lastSegment;
+}
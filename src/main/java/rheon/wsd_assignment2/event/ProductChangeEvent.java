@@ -0,0 +1,58 @@
+package rheon.wsd_assignment2.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import rheon.wsd_assignment2.dto.ProductResponse;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductChangeEvent {
+
+    private final ProductChangeType type;
+    private final List<Long> productIds;
+    private final List<ProductResponse> products;
+    private final boolean purge;
+    private final Long upToProductId;
+
+    public static ProductChangeEvent created(List<ProductResponse> products) {
+        return withProducts(ProductChangeType.CREATED, products);
+    }
+
+    public static ProductChangeEvent updated(ProductResponse product) {
+        return withProducts(ProductChangeType.UPDATED, List.of(product));
+    }
+
+    public static ProductChangeEvent stockUpdated(ProductResponse product) {
+        return withProducts(ProductChangeType.STOCK_UPDATED, List.of(product));
+    }
+
+    public static ProductChangeEvent stockUpdated(List<Long> productIds) {
+        return new ProductChangeEvent(ProductChangeType.STOCK_UPDATED, productIds, List.of(), false, null);
+    }
+
+    public static ProductChangeEvent deleted(Long productId) {
+        return new ProductChangeEvent(ProductChangeType.DELETED, List.of(productId), List.of(), false, null);
+    }
+
+    public static ProductChangeEvent deleted(List<Long> productIds) {
+        return new ProductChangeEvent(ProductChangeType.DELETED, productIds, List.of(), false, null);
+    }
+
+    public static ProductChangeEvent purgeChunkDeleted(List<Long> productIds) {
+        return new ProductChangeEvent(ProductChangeType.DELETED, productIds, List.of(), true, null);
+    }
+
+    public static ProductChangeEvent allDeleted(long upToProductId) {
+        return new ProductChangeEvent(ProductChangeType.ALL_DELETED, List.of(), List.of(), true, upToProductId);
+    }
+
+    private static ProductChangeEvent withProducts(ProductChangeType type, List<ProductResponse> products) {
+        List<Long> productIds = products.stream()
+                .map(ProductResponse::getId)
+                .toList();
+        return new ProductChangeEvent(type, productIds, products, false, null);
+    }
+}
@@ -0,0 +1,9 @@
+package rheon.wsd_assignment2.event;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    STOCK_UPDATED,
+    DELETED,
+    ALL_DELETED
+}
@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.exception;
+
+public class ResourceConflictException extends RuntimeException {
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
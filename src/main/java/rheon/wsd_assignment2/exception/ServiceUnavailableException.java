@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package rheon.wsd_assignment2.filter;
+
+record AccessLogEntry(
+        long timestampMillis,
+        String method,
+        String uri,
+        String queryString,
+        int status,
+        long durationNanos,
+        long bytes
+) {
+}
@@ -0,0 +1,6 @@
+package rheon.wsd_assignment2.filter;
+
+public enum AccessLogOverflowPolicy {
+    DROP,
+    BLOCK
+}
@@ -0,0 +1,148 @@
+package rheon.wsd_assignment2.filter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private static final DateTimeFormatter formatter =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final int DRAIN_BATCH_SIZE = 256;
+    private static final long DROP_REPORT_INTERVAL_MS = 1000;
+
+    @Value("${access-log.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${access-log.overflow-policy:DROP}")
+    private AccessLogOverflowPolicy overflowPolicy;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private BlockingQueue<AccessLogEntry> buffer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final StringBuilder line = new StringBuilder(256);
+    private long formattedSecond = Long.MIN_VALUE;
+    private String formattedTimestamp;
+    private long lastDropReport;
+
+    @PostConstruct
+    void start() {
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        running = true;
+        writerThread = new Thread(this::drainLoop, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public boolean isEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    void submit(AccessLogEntry entry) {
+        if (overflowPolicy == AccessLogOverflowPolicy.BLOCK && running) {
+            try {
+                buffer.put(entry);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!buffer.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        List<AccessLogEntry> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AccessLogEntry first = buffer.poll(DROP_REPORT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, DRAIN_BATCH_SIZE - 1);
+                }
+            } catch (InterruptedException e) {
+                buffer.drainTo(batch);
+            }
+            for (AccessLogEntry entry : batch) {
+                write(entry);
+            }
+            batch.clear();
+            reportDropped();
+        }
+    }
+
+    private void write(AccessLogEntry entry) {
+        try {
+            line.setLength(0);
+            line.append('[').append(timestamp(entry.timestampMillis())).append("] ")
+                    .append(entry.method()).append(' ').append(entry.uri());
+            if (entry.queryString() != null) {
+                line.append('?').append(entry.queryString());
+            }
+            line.append(' ').append(entry.status()).append(' ');
+            long micros = entry.durationNanos() / 1000;
+            line.append(micros / 1000).append('.');
+            long fraction = micros % 1000;
+            if (fraction < 100) {
+                line.append('0');
+            }
+            if (fraction < 10) {
+                line.append('0');
+            }
+            line.append(fraction).append("ms ");
+            if (entry.bytes() < 0) {
+                line.append('-');
+            } else {
+                line.append(entry.bytes()).append('B');
+            }
+            log.info(line.toString());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write access log entry", e);
+        }
+    }
+
+    private String timestamp(long timestampMillis) {
+        long second = timestampMillis / 1000;
+        if (second != formattedSecond) {
+            formattedSecond = second;
+            formattedTimestamp = formatter.format(Instant.ofEpochSecond(second));
+        }
+        return formattedTimestamp;
+    }
+
+    private void reportDropped() {
+        long now = System.currentTimeMillis();
+        if (now - lastDropReport < DROP_REPORT_INTERVAL_MS) {
+            return;
+        }
+        lastDropReport = now;
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            log.warn("Access log buffer full, dropped {} entries", count);
+        }
+    }
+}
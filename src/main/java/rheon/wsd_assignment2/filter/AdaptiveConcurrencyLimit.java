@@ -0,0 +1,106 @@
+package rheon.wsd_assignment2.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+class AdaptiveConcurrencyLimit {
+
+    private static final long WINDOW_NANOS = 100_000_000L;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_WINDOW = 100;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+    private double longRtt;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void acquireUnconditionally() {
+        inFlight.incrementAndGet();
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    void release(long rttNanos) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        onSample(rttNanos, inFlightAtRelease);
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long rttNanos, int inFlightAtRelease) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+            long now = System.nanoTime();
+            if (now - windowStart < WINDOW_NANOS || windowSamples < MIN_WINDOW_SAMPLES) {
+                return;
+            }
+            double shortRtt = (double) windowRttSum / windowSamples;
+            int maxInFlight = windowMaxInFlight;
+            windowStart = now;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+
+            if (longRtt == 0) {
+                longRtt = shortRtt;
+                return;
+            }
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            double current = limit;
+            if (maxInFlight < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+            double target = current * gradient + Math.sqrt(current);
+            double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package rheon.wsd_assignment2.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import rheon.wsd_assignment2.common.ApiResponse;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern STOCK_PATH = Pattern.compile("/api/products/\\d+/stock");
+    private static final List<String> BYPASS_PREFIXES = List.of("/actuator", "/swagger-ui", "/v3/api-docs", "/h2-console");
+    private static final List<String> BYPASS_PATHS = List.of("/api/products/changes", "/api/products/export");
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit limit;
+    private final byte[] overloadedBody;
+    private final Map<TrafficClass, Counter> rejected = new EnumMap<>(TrafficClass.class);
+
+    public AdmissionControlFilter(@Value("${admission-control.enabled:true}") boolean enabled,
+                                  @Value("${admission-control.initial-limit:64}") int initialLimit,
+                                  @Value("${admission-control.min-limit:8}") int minLimit,
+                                  @Value("${admission-control.max-limit:1000}") int maxLimit,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) throws IOException {
+        this.enabled = enabled;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        this.overloadedBody = objectMapper.writeValueAsBytes(ApiResponse.error("Server is overloaded, retry later"));
+        Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("admission.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            rejected.put(trafficClass, Counter.builder("admission.rejected")
+                    .description("Requests shed by admission control")
+                    .tag("class", trafficClass.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return BYPASS_PATHS.contains(path) || BYPASS_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = classify(request);
+        if (trafficClass == TrafficClass.CRITICAL) {
+            limit.acquireUnconditionally();
+        } else if (!limit.tryAcquire(trafficClass.limitShare())) {
+            reject(response, trafficClass);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                limit.release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private TrafficClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        if ("PATCH".equals(method) && STOCK_PATH.matcher(path).matches()) {
+            return TrafficClass.CRITICAL;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method) || "/api/products/lookup".equals(path)) {
+            return TrafficClass.READ;
+        }
+        if ("/api/products/bulk".equals(path)
+                || "/api/products/import".equals(path)
+                || "/api/admin/snapshot".equals(path)
+                || ("DELETE".equals(method) && "/api/products".equals(path))) {
+            return TrafficClass.BULK;
+        }
+        return TrafficClass.WRITE;
+    }
+
+    private void reject(HttpServletResponse response, TrafficClass trafficClass) throws IOException {
+        rejected.get(trafficClass).increment();
+        HttpStatus status = trafficClass == TrafficClass.BULK ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(overloadedBody.length);
+        response.getOutputStream().write(overloadedBody);
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
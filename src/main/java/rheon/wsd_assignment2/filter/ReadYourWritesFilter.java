@@ -0,0 +1,77 @@
+package rheon.wsd_assignment2.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import rheon.wsd_assignment2.datasource.ReadYourWrites;
+
+import java.io.IOException;
+import java.util.Set;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String COOKIE_NAME = "rw-pin";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final String LOOKUP_PATH = "/api/products/lookup";
+
+    @Value("${datasource.routing.sticky-window-ms:2000}")
+    private long stickyWindowMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return stickyWindowMs <= 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !READ_METHODS.contains(request.getMethod()) && !LOOKUP_PATH.equals(request.getRequestURI());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + stickyWindowMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.ceil(stickyWindowMs / 1000.0));
+            response.addCookie(cookie);
+        }
+        if (!write && !pinnedByCookie(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ReadYourWrites.pin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static boolean pinnedByCookie(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -2,33 +2,91 @@ package rheon.wsd_assignment2.filter;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
-@Slf4j
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
 public class RequestLoggingFilter implements Filter {
 
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private final AccessLogWriter accessLogWriter;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
+        if (!accessLogWriter.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
         HttpServletRequest httpRequest = (HttpServletRequest) request;
+        ByteCountingResponseWrapper countingResponse = new ByteCountingResponseWrapper((HttpServletResponse) response);
+        long timestampMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            if (httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(
+                        new CompletionListener(httpRequest, countingResponse, timestampMillis, startNanos));
+            } else {
+                record(httpRequest, countingResponse, timestampMillis, startNanos);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, ByteCountingResponseWrapper response,
+                        long timestampMillis, long startNanos) {
+        accessLogWriter.submit(new AccessLogEntry(
+                timestampMillis,
+                request.getMethod(),
+                request.getRequestURI(),
+                request.getQueryString(),
+                response.getStatus(),
+                System.nanoTime() - startNanos,
+                response.getBytesWritten()
+        ));
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final ByteCountingResponseWrapper response;
+        private final long timestampMillis;
+        private final long startNanos;
+
+        private CompletionListener(HttpServletRequest request, ByteCountingResponseWrapper response,
+                                   long timestampMillis, long startNanos) {
+            this.request = request;
+            this.response = response;
+            this.timestampMillis = timestampMillis;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response, timestampMillis, startNanos);
+        }
 
-        String timestamp = LocalDateTime.now().format(formatter);
-        String method = httpRequest.getMethod();
-        String uri = httpRequest.getRequestURI();
-        String queryString = httpRequest.getQueryString();
-        String fullUrl = queryString != null ? uri + "?" + queryString : uri;
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
 
-        log.info("[{}] {} {}", timestamp, method, fullUrl);
+        @Override
+        public void onError(AsyncEvent event) {
+        }
 
-        chain.doFilter(request, response);
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
     }
 }
@@ -0,0 +1,133 @@
+package rheon.wsd_assignment2.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import rheon.wsd_assignment2.datasource.ReadYourWrites;
+import rheon.wsd_assignment2.search.SearchResponseCache;
+import rheon.wsd_assignment2.stock.StockWriteBehind;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SearchResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String SEARCH_PATH = "/api/products/search";
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final SearchResponseCache searchResponseCache;
+    private final StockWriteBehind stockWriteBehind;
+
+    @Value("${product.search.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"GET".equals(request.getMethod())
+                || !SEARCH_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!acceptsGzip(request) || !prefersJson(request) || stockWriteBehind.hasTrackedProducts()
+                || ReadYourWrites.isPinned()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = cacheKey(request);
+        SearchResponseCache.Entry cached = searchResponseCache.get(key);
+        if (cached != null) {
+            if (cached.etag() != null && cached.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                response.setHeader(HttpHeaders.ETAG, cached.etag());
+                response.setHeader(HttpHeaders.VARY, VARY);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            write(response, cached);
+            return;
+        }
+
+        long generation = searchResponseCache.currentGeneration();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK
+                || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        SearchResponseCache.Entry entry = searchResponseCache.put(
+                key, generation, wrapper.getContentAsByteArray(), wrapper.getHeader(HttpHeaders.ETAG));
+        wrapper.resetBuffer();
+        write(response, entry);
+    }
+
+    private void write(HttpServletResponse response, SearchResponseCache.Entry entry) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (entry.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.etag());
+        }
+        if (entry.gzipped()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String cursor = request.getParameter("cursor");
+        String size = request.getParameter("size");
+        return request.getParameter("name") + '\u0000'
+                + (cursor != null ? cursor : "") + '\u0000'
+                + (size != null ? size : "20");
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean prefersJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream()
+                    .max(Comparator.comparingDouble(MediaType::getQualityValue))
+                    .map(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON))
+                    .orElse(true);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package rheon.wsd_assignment2.filter;
+
+enum TrafficClass {
+    CRITICAL(1.0),
+    READ(1.0),
+    WRITE(0.8),
+    BULK(0.5);
+
+    private final double limitShare;
+
+    TrafficClass(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    double limitShare() {
+        return limitShare;
+    }
+}
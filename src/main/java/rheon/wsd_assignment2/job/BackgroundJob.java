@@ -0,0 +1,30 @@
+package rheon.wsd_assignment2.job;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+public abstract class BackgroundJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final String type;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile JobStatus status = JobStatus.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    protected BackgroundJob(String type) {
+        this.type = type;
+    }
+
+    public abstract Map<String, Object> getProgress();
+
+    void markFinished(JobStatus status, String message) {
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+}
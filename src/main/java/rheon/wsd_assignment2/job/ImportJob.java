@@ -0,0 +1,77 @@
+package rheon.wsd_assignment2.job;
+
+import rheon.wsd_assignment2.common.DataFormat;
+import rheon.wsd_assignment2.dto.ProductBulkCreateResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportJob extends BackgroundJob {
+
+    private static final int MAX_ERROR_SAMPLES = 100;
+
+    private final DataFormat format;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong committedChunks = new AtomicLong();
+    private final AtomicInteger errorSampleCount = new AtomicInteger();
+    private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+    private volatile boolean invalidInput;
+
+    public ImportJob(DataFormat format) {
+        super("PRODUCT_IMPORT");
+        this.format = format;
+    }
+
+    public DataFormat getFormat() {
+        return format;
+    }
+
+    public boolean isInvalidInput() {
+        return invalidInput;
+    }
+
+    public void markInvalidInput() {
+        invalidInput = true;
+    }
+
+    public void recordChunk(ProductBulkCreateResponse result) {
+        processed.addAndGet(result.getRequested());
+        created.addAndGet(result.getCreated());
+        duplicates.addAndGet(result.getDuplicates());
+        invalid.addAndGet(result.getInvalid());
+        committedChunks.incrementAndGet();
+    }
+
+    public void recordRejected(long line, String message) {
+        processed.incrementAndGet();
+        invalid.incrementAndGet();
+        recordError(line, message);
+    }
+
+    public void recordError(long line, String message) {
+        if (errorSampleCount.getAndIncrement() < MAX_ERROR_SAMPLES) {
+            errorSamples.add("line " + line + ": " + message);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("format", format);
+        progress.put("processed", processed.get());
+        progress.put("created", created.get());
+        progress.put("duplicates", duplicates.get());
+        progress.put("invalid", invalid.get());
+        progress.put("committedChunks", committedChunks.get());
+        progress.put("errors", new ArrayList<>(errorSamples));
+        return progress;
+    }
+}
@@ -0,0 +1,56 @@
+package rheon.wsd_assignment2.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import rheon.wsd_assignment2.exception.ResourceNotFoundException;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+public class JobRegistry {
+
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final Map<String, BackgroundJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobIds = new ConcurrentLinkedQueue<>();
+
+    public <T extends BackgroundJob> T register(T job) {
+        jobs.put(job.getId(), job);
+        log.info("Job started: {} ({})", job.getId(), job.getType());
+        return job;
+    }
+
+    public BackgroundJob getJob(String id) {
+        BackgroundJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Job not found with id: " + id);
+        }
+        return job;
+    }
+
+    public void complete(BackgroundJob job, String message) {
+        job.markFinished(JobStatus.COMPLETED, message);
+        log.info("Job completed: {} ({})", job.getId(), message);
+        retire(job);
+    }
+
+    public void fail(BackgroundJob job, String message) {
+        job.markFinished(JobStatus.FAILED, message);
+        log.error("Job failed: {} ({})", job.getId(), message);
+        retire(job);
+    }
+
+    private void retire(BackgroundJob job) {
+        finishedJobIds.add(job.getId());
+        while (finishedJobIds.size() > MAX_FINISHED_JOBS) {
+            String evicted = finishedJobIds.poll();
+            if (evicted != null) {
+                jobs.remove(evicted);
+            }
+        }
+    }
+}
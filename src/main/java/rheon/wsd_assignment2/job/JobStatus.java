@@ -0,0 +1,7 @@
+package rheon.wsd_assignment2.job;
+
+public enum JobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,46 @@
+package rheon.wsd_assignment2.job;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PurgeJob extends BackgroundJob {
+
+    private volatile long estimatedTotal;
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong committedChunks = new AtomicLong();
+    private volatile Long lastDeletedId;
+
+    public PurgeJob() {
+        super("PRODUCT_PURGE");
+    }
+
+    public void setEstimatedTotal(long estimatedTotal) {
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public void recordChunk(List<Long> deletedIds) {
+        deleted.addAndGet(deletedIds.size());
+        committedChunks.incrementAndGet();
+        lastDeletedId = deletedIds.get(deletedIds.size() - 1);
+    }
+
+    public long getDeleted() {
+        return deleted.get();
+    }
+
+    public Long getLastDeletedId() {
+        return lastDeletedId;
+    }
+
+    @Override
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("estimatedTotal", estimatedTotal);
+        progress.put("deleted", deleted.get());
+        progress.put("committedChunks", committedChunks.get());
+        progress.put("lastDeletedId", lastDeletedId);
+        return progress;
+    }
+}
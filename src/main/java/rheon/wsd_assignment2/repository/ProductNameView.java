@@ -0,0 +1,8 @@
+package rheon.wsd_assignment2.repository;
+
+public interface ProductNameView {
+
+    Long getId();
+
+    String getName();
+}
@@ -1,15 +1,80 @@
 package rheon.wsd_assignment2.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rheon.wsd_assignment2.dto.ProductResponse;
 import rheon.wsd_assignment2.entity.Product;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findByNameContaining(String name);
+    String RESPONSE_PROJECTION = "select new rheon.wsd_assignment2.dto.ProductResponse("
+            + "p.id, p.name, p.price, p.description, p.stock, p.createdAt, p.updatedAt, p.version) from Product p ";
+
+    @Query(RESPONSE_PROJECTION + "where p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(RESPONSE_PROJECTION + "where p.id in :ids")
+    List<ProductResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(RESPONSE_PROJECTION + "where p.name like :pattern escape '\\' order by p.name, p.id")
+    List<ProductResponse> searchResponsesByName(@Param("pattern") String pattern, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + "where p.name like :pattern escape '\\' "
+            + "and (p.name > :lastName or (p.name = :lastName and p.id > :lastId)) "
+            + "order by p.name, p.id")
+    List<ProductResponse> searchResponsesByNameAfter(@Param("pattern") String pattern,
+                                                     @Param("lastName") String lastName,
+                                                     @Param("lastId") Long lastId,
+                                                     Limit limit);
 
     boolean existsByName(String name);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.stock = p.stock + :delta, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id = :id and p.stock + :delta >= 0")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select p.stock from Product p where p.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    @Query(value = "select stock from products where id = :id for update", nativeQuery = true)
+    Optional<Integer> lockStockById(@Param("id") Long id);
+
+    @Query("select max(p.id) from Product p")
+    Optional<Long> findMaxId();
+
+    @Query("select p.id from Product p where p.id > :afterId and p.id <= :maxId order by p.id")
+    List<Long> findIdsInRange(@Param("afterId") long afterId, @Param("maxId") long maxId, Limit limit);
+
+    @Query("select p.name from Product p where p.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.id as id, p.name as name from Product p")
+    Stream<ProductNameView> streamAllNames();
 }
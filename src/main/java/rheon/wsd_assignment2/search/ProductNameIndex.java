@@ -0,0 +1,240 @@
+package rheon.wsd_assignment2.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rheon.wsd_assignment2.common.SearchCursor;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.repository.ProductNameView;
+import rheon.wsd_assignment2.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ProductRepository productRepository;
+
+    @Value("${product.search.ngram-index.enabled:false}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        lock.writeLock().lock();
+        try (Stream<ProductNameView> rows = productRepository.streamAllNames()) {
+            names.clear();
+            postings.clear();
+            rows.forEach(row -> add(row.getId(), row.getName()));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product name index built: {} names, {} grams in {} ms",
+                names.size(), postings.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED, UPDATED -> {
+                    for (ProductResponse product : event.getProducts()) {
+                        remove(product.getId());
+                        add(product.getId(), product.getName());
+                    }
+                }
+                case DELETED -> removeAll(event.getProductIds());
+                default -> {
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> search(String query, SearchCursor after, int limit) {
+        Comparator<Map.Entry<Long, String>> order = Map.Entry.<Long, String>comparingByValue()
+                .thenComparing(Map.Entry.<Long, String>comparingByKey());
+        PriorityQueue<Map.Entry<Long, String>> top = new PriorityQueue<>(limit + 1, order.reversed());
+
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                for (Map.Entry<Long, String> entry : names.entrySet()) {
+                    offer(top, entry.getKey(), entry.getValue(), query, after, limit, order);
+                }
+            } else {
+                for (long id : candidates(query)) {
+                    String name = names.get(id);
+                    if (name != null) {
+                        offer(top, id, name, query, after, limit, order);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, String>> matches = new ArrayList<>(top);
+        matches.sort(order);
+        List<Match> result = new ArrayList<>(matches.size());
+        for (Map.Entry<Long, String> match : matches) {
+            result.add(new Match(match.getKey(), match.getValue()));
+        }
+        return result;
+    }
+
+    private void offer(PriorityQueue<Map.Entry<Long, String>> top, Long id, String name, String query,
+                       SearchCursor after, int limit, Comparator<Map.Entry<Long, String>> order) {
+        if (!name.contains(query)) {
+            return;
+        }
+        if (after != null) {
+            int byName = name.compareTo(after.getName());
+            if (byName < 0 || (byName == 0 && id <= after.getId())) {
+                return;
+            }
+        }
+        Map.Entry<Long, String> entry = Map.entry(id, name);
+        if (top.size() < limit) {
+            top.add(entry);
+        } else if (order.compare(entry, top.peek()) < 0) {
+            top.poll();
+            top.add(entry);
+        }
+    }
+
+    private long[] candidates(String query) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            PostingList list = postings.get(gram(query, i));
+            if (list == null || list.isEmpty()) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        long[] result = lists.get(0).toArray();
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            PostingList list = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (list.contains(result[i])) {
+                    result[kept++] = result[i];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private void add(Long id, String name) {
+        names.put(id, name);
+        for (Long gram : grams(name)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (Long gram : grams(name)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void removeAll(List<Long> ids) {
+        if (ids.size() == 1) {
+            remove(ids.get(0));
+            return;
+        }
+        Map<Long, List<Long>> idsByGram = new HashMap<>();
+        for (Long id : ids) {
+            String name = names.remove(id);
+            if (name == null) {
+                continue;
+            }
+            for (Long gram : grams(name)) {
+                idsByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(id);
+            }
+        }
+        for (Map.Entry<Long, List<Long>> entry : idsByGram.entrySet()) {
+            PostingList list = postings.get(entry.getKey());
+            if (list == null) {
+                continue;
+            }
+            long[] sortedIds = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            list.removeAll(sortedIds);
+            if (list.isEmpty()) {
+                postings.remove(entry.getKey());
+            }
+        }
+    }
+
+    private static List<Long> grams(String name) {
+        if (name.length() < GRAM_LENGTH) {
+            return Collections.emptyList();
+        }
+        List<Long> grams = new ArrayList<>(name.length() - GRAM_LENGTH + 1);
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            grams.add(gram(name, i));
+        }
+        return grams;
+    }
+
+    private static long gram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32)
+                | ((long) value.charAt(offset + 1) << 16)
+                | value.charAt(offset + 2);
+    }
+
+    public record Match(Long id, String name) {
+    }
+}
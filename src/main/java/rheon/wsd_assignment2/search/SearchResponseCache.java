@@ -0,0 +1,83 @@
+package rheon.wsd_assignment2.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+public class SearchResponseCache {
+
+    private final Cache<String, Entry> cache;
+    private final long compressionThreshold;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResponseCache(@Value("${product.search.response-cache.max-size:16MB}") DataSize maxSize,
+                               @Value("${server.compression.min-response-size:2KB}") DataSize compressionThreshold,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> key.length() * 2 + entry.body().length)
+                .recordStats()
+                .build();
+        this.compressionThreshold = compressionThreshold.toBytes();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "searchResponses");
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public Entry get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null || entry.generation() != generation.get()) {
+            return null;
+        }
+        return entry;
+    }
+
+    public Entry put(String key, long generationAtStart, byte[] json, String etag) {
+        boolean gzipped = json.length >= compressionThreshold;
+        Entry entry = new Entry(gzipped ? gzip(json) : json, gzipped, etag, generationAtStart);
+        if (generationAtStart == generation.get()) {
+            cache.put(key, entry);
+        }
+        return entry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public record Entry(byte[] body, boolean gzipped, String etag, long generation) {
+    }
+}
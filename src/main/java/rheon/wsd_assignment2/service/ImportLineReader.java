@@ -0,0 +1,94 @@
+package rheon.wsd_assignment2.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+final class ImportLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final int maxLineBytes;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] line = new byte[256];
+    private int length;
+
+    ImportLineReader(InputStream in, int maxLineBytes) {
+        this.in = in;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    // Returns null at end of input; an oversized line is skipped up to its newline before OversizedLineException is thrown
+    String readLine() throws IOException {
+        length = 0;
+        boolean read = false;
+        boolean oversized = false;
+        boolean oddQuotes = false;
+        while (true) {
+            if (position == limit) {
+                int count = in.read(buffer);
+                if (count < 0) {
+                    if (!read) {
+                        return null;
+                    }
+                    break;
+                }
+                position = 0;
+                limit = count;
+                continue;
+            }
+            read = true;
+            byte b = buffer[position++];
+            if (b == '\n') {
+                break;
+            }
+            if (b == '"') {
+                oddQuotes = !oddQuotes;
+            }
+            if (oversized) {
+                continue;
+            }
+            if (length == maxLineBytes) {
+                oversized = true;
+                continue;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, Math.min(maxLineBytes, line.length * 2));
+            }
+            line[length++] = b;
+        }
+        if (oversized) {
+            throw new OversizedLineException(oddQuotes);
+        }
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        return new String(line, 0, end, StandardCharsets.UTF_8);
+    }
+
+    int lastLineBytes() {
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static final class OversizedLineException extends IOException {
+
+        private final boolean oddQuotes;
+
+        OversizedLineException(boolean oddQuotes) {
+            super("Line exceeds the import record limit");
+            this.oddQuotes = oddQuotes;
+        }
+
+        boolean hasOddQuotes() {
+            return oddQuotes;
+        }
+    }
+}
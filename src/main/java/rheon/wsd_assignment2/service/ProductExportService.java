@@ -0,0 +1,138 @@
+package rheon.wsd_assignment2.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rheon.wsd_assignment2.common.DataFormat;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.entity.Product;
+import rheon.wsd_assignment2.repository.ProductRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final String CSV_HEADER = "id,name,price,description,stock,createdAt,updatedAt";
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public long exportProducts(DataFormat format, OutputStream out) throws IOException {
+        RowWriter writer = format == DataFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writer.write(ProductResponse.from(iterator.next()));
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.finish();
+        log.info("Products exported: format={}, count={}", format, count);
+        return count;
+    }
+
+    private interface RowWriter {
+
+        void write(ProductResponse product) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private boolean empty = true;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+            this.writer = objectMapper.writerFor(ProductResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(ProductResponse product) throws IOException {
+            writer.writeValue(generator, product);
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void write(ProductResponse product) throws IOException {
+            writer.write(String.valueOf(product.getId()));
+            writer.write(',');
+            writeEscaped(product.getName());
+            writer.write(',');
+            writer.write(String.valueOf(product.getPrice()));
+            writer.write(',');
+            writeEscaped(product.getDescription());
+            writer.write(',');
+            writer.write(String.valueOf(product.getStock()));
+            writer.write(',');
+            writeEscaped(product.getCreatedAt() != null ? product.getCreatedAt().toString() : null);
+            writer.write(',');
+            writeEscaped(product.getUpdatedAt() != null ? product.getUpdatedAt().toString() : null);
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package rheon.wsd_assignment2.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import rheon.wsd_assignment2.common.DataFormat;
+import rheon.wsd_assignment2.dto.BulkItemStatus;
+import rheon.wsd_assignment2.dto.ProductBulkCreateResponse;
+import rheon.wsd_assignment2.dto.ProductBulkItemResult;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.exception.InternalServerException;
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+import rheon.wsd_assignment2.exception.ServiceUnavailableException;
+import rheon.wsd_assignment2.job.ImportJob;
+import rheon.wsd_assignment2.job.JobRegistry;
+
+import rheon.wsd_assignment2.service.ImportLineReader.OversizedLineException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_RUNNING_IMPORTS = 2;
+    private static final int MAX_QUEUED_IMPORTS = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final String OVERSIZED_RECORD_MESSAGE = "Record exceeds " + MAX_RECORD_BYTES + " bytes";
+
+    private final ProductService productService;
+    private final JobRegistry jobRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService importExecutor = createImportExecutor();
+
+    public ImportJob importProducts(InputStream body, DataFormat format) {
+        ImportJob job = jobRegistry.register(new ImportJob(format));
+        run(job, body);
+        return job;
+    }
+
+    public ImportJob importProductsAsync(InputStream body, DataFormat format) {
+        Path spoolFile = spool(body, format);
+        ImportJob job = jobRegistry.register(new ImportJob(format));
+        try {
+            importExecutor.execute(() -> {
+                try (InputStream in = Files.newInputStream(spoolFile)) {
+                    run(job, in);
+                } catch (IOException e) {
+                    jobRegistry.fail(job, "Failed to read spooled import: " + e.getMessage());
+                } finally {
+                    deleteQuietly(spoolFile);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(spoolFile);
+            jobRegistry.fail(job, "Rejected: too many imports in progress");
+            throw new ServiceUnavailableException("Too many imports in progress, retry later");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private void run(ImportJob job, InputStream body) {
+        try {
+            execute(job, body);
+        } catch (Exception e) {
+            fail(job, e);
+        }
+    }
+
+    private void execute(ImportJob job, InputStream body) throws IOException {
+        ChunkWriter writer = new ChunkWriter(job);
+        try (ImportLineReader reader = new ImportLineReader(body, MAX_RECORD_BYTES)) {
+            if (job.getFormat() == DataFormat.CSV) {
+                readCsv(reader, writer);
+            } else {
+                readNdjson(reader, writer);
+            }
+            writer.flush();
+        }
+        jobRegistry.complete(job, "Product import finished");
+    }
+
+    private void fail(ImportJob job, Exception e) {
+        if (e instanceof InvalidRequestException) {
+            job.markInvalidInput();
+            jobRegistry.fail(job, "Invalid import data: " + e.getMessage());
+            return;
+        }
+        log.error("Product import {} aborted", job.getId(), e);
+        jobRegistry.fail(job, "Import aborted: " + e.getMessage());
+    }
+
+    private void readNdjson(ImportLineReader reader, ChunkWriter writer) throws IOException {
+        long lineNumber = 0;
+        while (true) {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (OversizedLineException e) {
+                writer.reject(++lineNumber, OVERSIZED_RECORD_MESSAGE);
+                continue;
+            }
+            if (line == null) {
+                return;
+            }
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                writer.accept(lineNumber, objectMapper.readValue(line, ProductCreateRequest.class));
+            } catch (JsonProcessingException e) {
+                writer.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(ImportLineReader reader, ChunkWriter writer) throws IOException {
+        String header;
+        try {
+            header = reader.readLine();
+        } catch (OversizedLineException e) {
+            throw new InvalidRequestException("CSV header exceeds " + MAX_RECORD_BYTES + " bytes");
+        }
+        if (header == null) {
+            return;
+        }
+        CsvColumns columns = CsvColumns.of(parseCsvLine(stripBom(header)));
+        long lineNumber = 1;
+        while (true) {
+            long recordLine = ++lineNumber;
+            String line;
+            boolean open;
+            boolean oversized = false;
+            try {
+                line = reader.readLine();
+                if (line == null) {
+                    return;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                open = hasOddQuotes(line);
+            } catch (OversizedLineException e) {
+                line = "";
+                open = e.hasOddQuotes();
+                oversized = true;
+            }
+            if (open) {
+                // Keep consuming an oversized record up to its closing quote so the next record starts in sync
+                StringBuilder record = new StringBuilder(line);
+                long recordBytes = reader.lastLineBytes();
+                while (open) {
+                    String next;
+                    try {
+                        next = reader.readLine();
+                        if (next == null) {
+                            throw new InvalidRequestException("Unterminated quoted field starting at line " + recordLine);
+                        }
+                        open = hasOddQuotes(next) != open;
+                        recordBytes += reader.lastLineBytes() + 1;
+                    } catch (OversizedLineException e) {
+                        next = "";
+                        open = e.hasOddQuotes() != open;
+                        oversized = true;
+                    }
+                    lineNumber++;
+                    if (recordBytes > MAX_RECORD_BYTES) {
+                        oversized = true;
+                    }
+                    if (!oversized) {
+                        record.append('\n').append(next);
+                    }
+                }
+                line = record.toString();
+            }
+            if (oversized) {
+                writer.reject(recordLine, OVERSIZED_RECORD_MESSAGE);
+                continue;
+            }
+            List<String> fields = parseCsvLine(line);
+            try {
+                writer.accept(recordLine, new ProductCreateRequest(
+                        columns.value(fields, columns.name),
+                        parseInteger(columns.value(fields, columns.price), "price"),
+                        columns.value(fields, columns.description),
+                        parseInteger(columns.value(fields, columns.stock), "stock")
+                ));
+            } catch (IllegalArgumentException e) {
+                writer.reject(recordLine, e.getMessage());
+            }
+        }
+    }
+
+    private static Integer parseInteger(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + ": must be an integer");
+        }
+    }
+
+    private static boolean hasOddQuotes(String line) {
+        boolean odd = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private Path spool(InputStream body, DataFormat format) {
+        Path spoolFile = null;
+        try {
+            spoolFile = Files.createTempFile("product-import-", "." + format.name().toLowerCase(Locale.ROOT));
+            Files.copy(body, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+            return spoolFile;
+        } catch (IOException e) {
+            deleteQuietly(spoolFile);
+            throw new InternalServerException("Failed to receive import payload", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete import spool file {}", file, e);
+        }
+    }
+
+    private static ExecutorService createImportExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                MAX_RUNNING_IMPORTS, MAX_RUNNING_IMPORTS,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_IMPORTS),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private class ChunkWriter {
+
+        private final ImportJob job;
+        private final List<ProductCreateRequest> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        private final long[] lineNumbers = new long[IMPORT_CHUNK_SIZE];
+
+        ChunkWriter(ImportJob job) {
+            this.job = job;
+        }
+
+        void accept(long lineNumber, ProductCreateRequest request) {
+            lineNumbers[chunk.size()] = lineNumber;
+            chunk.add(request);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long lineNumber, String message) {
+            job.recordRejected(lineNumber, message);
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            ProductBulkCreateResponse result = productService.bulkCreateProducts(chunk);
+            for (ProductBulkItemResult item : result.getResults()) {
+                if (item.getStatus() != BulkItemStatus.CREATED) {
+                    job.recordError(lineNumbers[item.getIndex()], item.getMessage());
+                }
+            }
+            job.recordChunk(result);
+            chunk.clear();
+        }
+    }
+
+    private static class CsvColumns {
+
+        private int name = -1;
+        private int price = -1;
+        private int description = -1;
+        private int stock = -1;
+
+        static CsvColumns of(List<String> header) {
+            CsvColumns columns = new CsvColumns();
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> columns.name = i;
+                    case "price" -> columns.price = i;
+                    case "description" -> columns.description = i;
+                    case "stock" -> columns.stock = i;
+                    default -> {
+                    }
+                }
+            }
+            if (columns.name < 0 || columns.price < 0 || columns.stock < 0) {
+                throw new InvalidRequestException("CSV header must contain name, price and stock columns");
+            }
+            return columns;
+        }
+
+        String value(List<String> fields, int index) {
+            if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+    }
+}
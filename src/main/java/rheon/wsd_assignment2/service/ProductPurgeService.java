@@ -0,0 +1,109 @@
+package rheon.wsd_assignment2.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.exception.InternalServerException;
+import rheon.wsd_assignment2.job.JobRegistry;
+import rheon.wsd_assignment2.job.PurgeJob;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductPurgeService {
+
+    private static final int PURGE_CHUNK_SIZE = 1000;
+    private static final long SYNC_PURGE_MAX_ROWS = 1000;
+
+    private final ProductService productService;
+    private final JobRegistry jobRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<PurgeJob> runningPurge = new AtomicReference<>();
+    private final ExecutorService purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PurgeJob purgeAllProducts() {
+        PurgeJob job = new PurgeJob();
+        PurgeJob running = runningPurge.compareAndExchange(null, job);
+        if (running != null) {
+            return running;
+        }
+
+        boolean handedOff = false;
+        try {
+            jobRegistry.register(job);
+            long total = productService.countProducts();
+            Optional<Long> maxId = productService.findMaxProductId();
+            job.setEstimatedTotal(total);
+            if (maxId.isEmpty()) {
+                jobRegistry.complete(job, "No products to delete");
+                return job;
+            }
+
+            if (total <= SYNC_PURGE_MAX_ROWS) {
+                try {
+                    purge(job, maxId.get());
+                } catch (Exception e) {
+                    jobRegistry.fail(job, "Purge aborted: " + e.getMessage());
+                    throw new InternalServerException("Failed to delete all products", e);
+                }
+                return job;
+            }
+
+            purgeExecutor.execute(() -> {
+                try {
+                    purge(job, maxId.get());
+                } catch (Exception e) {
+                    log.error("Product purge {} aborted", job.getId(), e);
+                    jobRegistry.fail(job, "Purge aborted after " + job.getDeleted() + " products: " + e.getMessage());
+                } finally {
+                    runningPurge.set(null);
+                }
+            });
+            handedOff = true;
+            return job;
+        } finally {
+            if (!handedOff) {
+                runningPurge.set(null);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    private void purge(PurgeJob job, long maxId) {
+        long afterId = Long.MIN_VALUE;
+        List<Long> deletedIds;
+        try {
+            while (!(deletedIds = productService.deleteProductChunk(afterId, maxId, PURGE_CHUNK_SIZE)).isEmpty()) {
+                job.recordChunk(deletedIds);
+                afterId = deletedIds.get(deletedIds.size() - 1);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Interrupted by shutdown");
+                }
+            }
+        } finally {
+            // Chunks go in id order, so even an aborted purge removed every product up to its last deleted id
+            if (job.getLastDeletedId() != null) {
+                eventPublisher.publishEvent(ProductChangeEvent.allDeleted(job.getLastDeletedId()));
+            }
+        }
+        jobRegistry.complete(job, "Deleted " + job.getDeleted() + " products");
+    }
+}
@@ -1,20 +1,58 @@
 package rheon.wsd_assignment2.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import rheon.wsd_assignment2.coalesce.Coalesced;
+import rheon.wsd_assignment2.common.CursorPage;
+import rheon.wsd_assignment2.common.ETags;
+import rheon.wsd_assignment2.common.SearchCursor;
+import rheon.wsd_assignment2.config.CacheConfig;
+import rheon.wsd_assignment2.dto.ProductBatchResponse;
+import rheon.wsd_assignment2.dto.ProductBulkCreateResponse;
+import rheon.wsd_assignment2.dto.ProductBulkItemResult;
 import rheon.wsd_assignment2.dto.ProductCreateRequest;
 import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.dto.ProductStockAdjustRequest;
+import rheon.wsd_assignment2.dto.ProductStockResponse;
 import rheon.wsd_assignment2.dto.ProductStockUpdateRequest;
 import rheon.wsd_assignment2.dto.ProductUpdateRequest;
 import rheon.wsd_assignment2.entity.Product;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
 import rheon.wsd_assignment2.exception.DuplicateResourceException;
+import rheon.wsd_assignment2.exception.InsufficientStockException;
 import rheon.wsd_assignment2.exception.InternalServerException;
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+import rheon.wsd_assignment2.exception.PreconditionFailedException;
+import rheon.wsd_assignment2.exception.ResourceConflictException;
 import rheon.wsd_assignment2.exception.ResourceNotFoundException;
 import rheon.wsd_assignment2.repository.ProductRepository;
+import rheon.wsd_assignment2.search.ProductNameIndex;
+import rheon.wsd_assignment2.stock.StockWriteBehind;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,7 +61,20 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ProductService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_IDS = 10000;
+
     private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ProductNameIndex productNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockWriteBehind stockWriteBehind;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateRequest request) {
@@ -40,51 +91,157 @@ public class ProductService {
 
         Product savedProduct = productRepository.save(product);
         log.info("Product created: {}", savedProduct.getId());
-        return ProductResponse.from(savedProduct);
+        ProductResponse response = ProductResponse.from(savedProduct);
+        eventPublisher.publishEvent(ProductChangeEvent.created(List.of(response)));
+        return response;
     }
 
     @Transactional
-    public ProductResponse bulkCreateProduct(ProductCreateRequest request) {
+    public ProductBulkCreateResponse bulkCreateProducts(List<ProductCreateRequest> requests) {
         try {
-            if (productRepository.existsByName(request.getName())) {
-                throw new DuplicateResourceException("Product with name '" + request.getName() + "' already exists");
+            ProductBulkItemResult[] results = new ProductBulkItemResult[requests.size()];
+            Map<String, Integer> candidates = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                ProductCreateRequest request = requests.get(i);
+                String violation = validate(request);
+                if (violation != null) {
+                    results[i] = ProductBulkItemResult.invalid(i, request != null ? request.getName() : null, violation);
+                } else if (candidates.putIfAbsent(request.getName(), i) != null) {
+                    results[i] = ProductBulkItemResult.duplicate(i, request.getName());
+                }
             }
 
-            Product product = Product.builder()
-                    .name(request.getName())
-                    .price(request.getPrice())
-                    .description(request.getDescription())
-                    .stock(request.getStock())
-                    .build();
+            Set<String> existingNames = findExistingNames(candidates.keySet());
+            List<Product> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            List<Integer> chunkIndexes = new ArrayList<>(BULK_CHUNK_SIZE);
+            List<ProductResponse> createdProducts = new ArrayList<>();
+            for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+                int index = candidate.getValue();
+                if (existingNames.contains(candidate.getKey())) {
+                    results[index] = ProductBulkItemResult.duplicate(index, candidate.getKey());
+                    continue;
+                }
+                ProductCreateRequest request = requests.get(index);
+                chunk.add(Product.builder()
+                        .name(request.getName())
+                        .price(request.getPrice())
+                        .description(request.getDescription())
+                        .stock(request.getStock())
+                        .build());
+                chunkIndexes.add(index);
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    insertChunk(chunk, chunkIndexes, results, createdProducts);
+                }
+            }
+            insertChunk(chunk, chunkIndexes, results, createdProducts);
+            if (!createdProducts.isEmpty()) {
+                eventPublisher.publishEvent(ProductChangeEvent.created(createdProducts));
+            }
 
-            Product savedProduct = productRepository.save(product);
-            log.info("Bulk product created: {}", savedProduct.getId());
-            return ProductResponse.from(savedProduct);
+            ProductBulkCreateResponse response = ProductBulkCreateResponse.of(Arrays.asList(results));
+            log.info("Bulk products processed: requested={}, created={}, duplicates={}, invalid={}",
+                    response.getRequested(), response.getCreated(), response.getDuplicates(), response.getInvalid());
+            return response;
         } catch (Exception e) {
-            throw new InternalServerException("Failed to create product in bulk operation", e);
+            throw new InternalServerException("Failed to create products in bulk operation", e);
         }
     }
 
+    @Coalesced("product")
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true,
+            condition = "!@stockWriteBehind.isTracked(#id) and !T(rheon.wsd_assignment2.datasource.ReadYourWrites).isPinned()")
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
+        ProductResponse product = productRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return ProductResponse.from(product);
+        return stockWriteBehind.overlay(product);
+    }
+
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_IDS + " ids can be requested at once");
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+
+        Map<Long, ProductResponse> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        for (Long id : requestedIds) {
+            ProductResponse cached = cache != null && !stockWriteBehind.isTracked(id)
+                    ? cache.get(id, ProductResponse.class)
+                    : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        for (int from = 0; from < misses.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, misses.size()));
+            for (ProductResponse product : productRepository.findResponsesByIdIn(chunk)) {
+                found.put(product.getId(), stockWriteBehind.overlay(product));
+            }
+        }
+
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchResponse(products, missingIds);
     }
 
-    public List<ProductResponse> searchProducts(String name) {
-        List<Product> products = productRepository.findByNameContaining(name);
-        if (products.isEmpty()) {
+    @Coalesced("search")
+    public CursorPage<ProductResponse> searchProducts(String name, String cursor, int size) {
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        String pattern = "%" + escapeLike(name) + "%";
+
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+        boolean indexed = after != null ? after.isIndexed() : productNameIndex.isReady();
+        if (indexed && !productNameIndex.isReady()) {
+            throw new InvalidRequestException("Cursor was issued by the name index, which is not available");
+        }
+        List<ProductResponse> products;
+        if (indexed) {
+            products = searchIndexed(name, after, size + 1);
+        } else if (after == null) {
+            products = productRepository.searchResponsesByName(pattern, Limit.of(size + 1));
+        } else {
+            products = productRepository.searchResponsesByNameAfter(
+                    pattern, after.getName(), after.getId(), Limit.of(size + 1));
+        }
+        if (products.isEmpty() && after == null) {
             throw new ResourceNotFoundException("No products found with name containing: " + name);
         }
-        return products.stream()
-                .map(ProductResponse::from)
-                .collect(Collectors.toList());
+
+        boolean hasNext = products.size() > size;
+        List<ProductResponse> page = hasNext ? products.subList(0, size) : products;
+        String nextCursor = null;
+        if (hasNext) {
+            ProductResponse last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.getName(), last.getId(), indexed).encode();
+        }
+        return new CursorPage<>(
+                page.stream()
+                        .map(stockWriteBehind::overlay)
+                        .collect(Collectors.toList()),
+                nextCursor
+        );
     }
 
     @Transactional
-    public ProductResponse updateProduct(Long id, ProductUpdateRequest request) {
+    public ProductResponse updateProduct(Long id, ProductUpdateRequest request, String ifMatch) {
+        rejectIfWriteBehind(id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        checkIfMatch(product, ifMatch);
 
         product.updateProduct(
                 request.getName(),
@@ -93,21 +250,60 @@ public class ProductService {
                 request.getStock()
         );
 
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.saveAndFlush(product);
         log.info("Product updated: {}", updatedProduct.getId());
-        return ProductResponse.from(updatedProduct);
+        ProductResponse response = ProductResponse.from(updatedProduct);
+        eventPublisher.publishEvent(ProductChangeEvent.updated(response));
+        return response;
     }
 
     @Transactional
-    public ProductResponse updateProductStock(Long id, ProductStockUpdateRequest request) {
+    public ProductResponse updateProductStock(Long id, ProductStockUpdateRequest request, String ifMatch) {
+        rejectIfWriteBehind(id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        checkIfMatch(product, ifMatch);
 
         product.updateStock(request.getStock());
 
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.saveAndFlush(product);
         log.info("Product stock updated: {}", updatedProduct.getId());
-        return ProductResponse.from(updatedProduct);
+        ProductResponse response = ProductResponse.from(updatedProduct);
+        eventPublisher.publishEvent(ProductChangeEvent.stockUpdated(response));
+        return response;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductStockResponse adjustProductStock(Long id, ProductStockAdjustRequest request) {
+        if (!stockWriteBehind.isTracked(id)) {
+            ProductStockResponse response = transactionTemplate.execute(status -> adjustStockInDatabase(id, request));
+            if (response != null) {
+                return response;
+            }
+        }
+        return new ProductStockResponse(id, stockWriteBehind.adjust(id, request.getDelta()));
+    }
+
+    private ProductStockResponse adjustStockInDatabase(Long id, ProductStockAdjustRequest request) {
+        Integer current = productRepository.lockStockById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        // track() installs its counter under the same row lock, so this check cannot go stale
+        if (stockWriteBehind.isTracked(id)) {
+            return null;
+        }
+        int stock;
+        try {
+            stock = Math.addExact(current, request.getDelta());
+        } catch (ArithmeticException e) {
+            throw new InvalidRequestException("Stock adjustment overflows for product id: " + id);
+        }
+        if (stock < 0 || productRepository.adjustStock(id, request.getDelta(), LocalDateTime.now()) == 0) {
+            throw new InsufficientStockException("Insufficient stock for product id: " + id);
+        }
+
+        log.info("Product stock adjusted: {} ({})", id, request.getDelta());
+        eventPublisher.publishEvent(ProductChangeEvent.stockUpdated(List.of(id)));
+        return new ProductStockResponse(id, stock);
     }
 
     @Transactional
@@ -117,16 +313,130 @@ public class ProductService {
 
         productRepository.delete(product);
         log.info("Product deleted: {}", id);
+        eventPublisher.publishEvent(ProductChangeEvent.deleted(id));
+    }
+
+    public long countProducts() {
+        return productRepository.count();
+    }
+
+    public Optional<Long> findMaxProductId() {
+        return productRepository.findMaxId();
     }
 
     @Transactional
-    public void deleteAllProducts() {
-        try {
-            long count = productRepository.count();
-            productRepository.deleteAll();
-            log.info("All products deleted. Count: {}", count);
-        } catch (Exception e) {
-            throw new InternalServerException("Failed to delete all products", e);
+    public List<Long> deleteProductChunk(long afterId, long maxId, int chunkSize) {
+        List<Long> ids = productRepository.findIdsInRange(afterId, maxId, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        productRepository.deleteAllByIdInBatch(ids);
+        log.info("Products deleted: {} ({} - {})", ids.size(), ids.get(0), ids.get(ids.size() - 1));
+        eventPublisher.publishEvent(ProductChangeEvent.purgeChunkDeleted(ids));
+        return ids;
+    }
+
+    private List<ProductResponse> searchIndexed(String name, SearchCursor after, int limit) {
+        List<ProductResponse> products = new ArrayList<>(limit);
+        SearchCursor from = after;
+        while (products.size() < limit) {
+            int wanted = limit - products.size();
+            List<ProductNameIndex.Match> matches = productNameIndex.search(name, from, wanted);
+            products.addAll(findResponsesByIdInOrder(matches.stream().map(ProductNameIndex.Match::id).toList()));
+            if (matches.size() < wanted) {
+                break;
+            }
+            // The index can still list rows deleted since; keep reading past them so the page is not cut short
+            ProductNameIndex.Match last = matches.get(matches.size() - 1);
+            from = new SearchCursor(last.name(), last.id(), true);
+        }
+        return products;
+    }
+
+    private List<ProductResponse> findResponsesByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductResponse> byId = new HashMap<>();
+        for (ProductResponse product : productRepository.findResponsesByIdIn(ids)) {
+            byId.put(product.getId(), product);
+        }
+        List<ProductResponse> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductResponse product = byId.get(id);
+            if (product != null) {
+                ordered.add(product);
+            }
+        }
+        return ordered;
+    }
+
+    private void checkIfMatch(Product product, String ifMatch) {
+        String etag = ETags.of(product.getId(), product.getVersion(), product.getStock());
+        if (!ETags.matches(ifMatch, etag)) {
+            throw new PreconditionFailedException(
+                    "Product " + product.getId() + " has changed, current ETag is " + etag);
+        }
+    }
+
+    private void rejectIfWriteBehind(Long id) {
+        if (stockWriteBehind.isTracked(id)) {
+            throw new ResourceConflictException(
+                    "Stock of product " + id + " is managed in write-behind mode, use PATCH /api/products/" + id + "/stock");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private String validate(ProductCreateRequest request) {
+        if (request == null) {
+            return "Product item must not be null";
+        }
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Set<String> findExistingNames(Collection<String> names) {
+        Set<String> existingNames = new HashSet<>();
+        List<String> batch = new ArrayList<>(IN_CLAUSE_CHUNK_SIZE);
+        for (String name : names) {
+            batch.add(name);
+            if (batch.size() == IN_CLAUSE_CHUNK_SIZE) {
+                existingNames.addAll(productRepository.findExistingNames(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            existingNames.addAll(productRepository.findExistingNames(batch));
+        }
+        return existingNames;
+    }
+
+    private void insertChunk(List<Product> chunk, List<Integer> chunkIndexes, ProductBulkItemResult[] results,
+                             List<ProductResponse> createdProducts) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        productRepository.saveAll(chunk);
+        entityManager.flush();
+        for (int i = 0; i < chunk.size(); i++) {
+            Product product = chunk.get(i);
+            int index = chunkIndexes.get(i);
+            results[index] = ProductBulkItemResult.created(index, product.getName(), product.getId());
+            createdProducts.add(ProductResponse.from(product));
         }
+        entityManager.clear();
+        chunk.clear();
+        chunkIndexes.clear();
     }
 }
@@ -0,0 +1,280 @@
+package rheon.wsd_assignment2.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import rheon.wsd_assignment2.dto.SnapshotResponse;
+import rheon.wsd_assignment2.exception.InternalServerException;
+import rheon.wsd_assignment2.exception.ResourceConflictException;
+import rheon.wsd_assignment2.stock.StockWriteBehind;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSnapshotStore implements SmartLifecycle {
+
+    // Below the web server's start/stop phases: restore finishes before requests are accepted,
+    // and the shutdown snapshot is taken after the server has stopped taking writes
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final String SELECT_SQL =
+            "select id, name, price, description, stock, created_at, updated_at, version from products order by id";
+    private static final String INSERT_SQL =
+            "insert into products (id, name, price, description, stock, created_at, updated_at, version) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int FETCH_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockWriteBehind stockWriteBehind;
+
+    @Value("${product.snapshot.file:${java.io.tmpdir}/wsd-products.snapshot}")
+    private Path snapshotFile;
+
+    @Value("${product.snapshot.load-on-startup:false}")
+    private boolean loadOnStartup;
+
+    @Value("${product.snapshot.save-on-shutdown:false}")
+    private boolean saveOnShutdown;
+
+    @Value("${product.snapshot.schedule.enabled:false}")
+    private boolean scheduled;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+        if (loadOnStartup) {
+            restoreIfEmpty();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (saveOnShutdown) {
+            saveOnShutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void restoreIfEmpty() {
+        if (!Files.exists(snapshotFile)) {
+            log.info("No product snapshot at {}, starting with an empty catalog", snapshotFile);
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("select count(*) from products", Long.class);
+        if (existing != null && existing > 0) {
+            log.warn("Products table already has {} rows, skipping snapshot restore", existing);
+            return;
+        }
+        lock.lock();
+        try {
+            restore();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.snapshot.interval-ms:600000}",
+            initialDelayString = "${product.snapshot.interval-ms:600000}")
+    public void scheduledSave() {
+        if (!scheduled || !lock.tryLock()) {
+            return;
+        }
+        try {
+            save();
+        } catch (RuntimeException e) {
+            log.error("Scheduled product snapshot failed", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void saveOnShutdown() {
+        lock.lock();
+        try {
+            stockWriteBehind.flush();
+            save();
+        } catch (RuntimeException e) {
+            log.error("Product snapshot on shutdown failed", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SnapshotResponse takeSnapshot() {
+        if (!lock.tryLock()) {
+            throw new ResourceConflictException("A product snapshot is already in progress");
+        }
+        try {
+            return save();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SnapshotResponse save() {
+        long startedAt = System.nanoTime();
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        long count;
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile), WRITE_BUFFER_SIZE))) {
+                SnapshotFormat.writeHeader(out);
+                long[] written = new long[1];
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, rs -> {
+                    try {
+                        SnapshotFormat.writeRecord(out, new SnapshotRecord(
+                                rs.getLong(1),
+                                rs.getString(2),
+                                rs.getInt(3),
+                                rs.getString(4),
+                                rs.getInt(5),
+                                rs.getObject(6, LocalDateTime.class),
+                                rs.getObject(7, LocalDateTime.class),
+                                rs.getLong(8)
+                        ));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                });
+                count = written[0];
+                SnapshotFormat.writeTrailer(out, count);
+            }
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long bytes = Files.size(snapshotFile);
+            long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+            log.info("Product snapshot written: {} products, {} bytes in {} ms ({})", count, bytes, durationMs, snapshotFile);
+            return new SnapshotResponse(snapshotFile.toString(), count, bytes, durationMs);
+        } catch (IOException | UncheckedIOException e) {
+            deleteQuietly(tempFile);
+            throw new InternalServerException("Failed to write product snapshot", e);
+        }
+    }
+
+    private void restore() {
+        long startedAt = System.nanoTime();
+        long count = 0;
+        long maxId = 0;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot larger than 2 GB cannot be mapped in one region");
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.BIG_ENDIAN);
+            SnapshotFormat.readHeader(in);
+
+            List<SnapshotRecord> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+            SnapshotRecord record;
+            while ((record = SnapshotFormat.readRecord(in)) != null) {
+                batch.add(record);
+                maxId = Math.max(maxId, record.id());
+                if (batch.size() == INSERT_BATCH_SIZE) {
+                    count += insertBatch(batch);
+                }
+            }
+            count += insertBatch(batch);
+
+            long expected = SnapshotFormat.readTrailer(in);
+            if (expected != count) {
+                throw new IllegalStateException("Snapshot is truncated: expected " + expected + " products but read " + count);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Product snapshot restore failed, discarding partially restored rows", e);
+            jdbcTemplate.update("delete from products");
+            return;
+        }
+
+        jdbcTemplate.execute("alter sequence product_seq restart with " + (maxId + SEQUENCE_ALLOCATION_SIZE));
+        log.info("Product snapshot restored: {} products in {} ms ({})",
+                count, (System.nanoTime() - startedAt) / 1_000_000, snapshotFile);
+    }
+
+    private int insertBatch(List<SnapshotRecord> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SnapshotRecord record = batch.get(i);
+                        ps.setLong(1, record.id());
+                        ps.setString(2, record.name());
+                        ps.setInt(3, record.price());
+                        ps.setString(4, record.description());
+                        ps.setInt(5, record.stock());
+                        ps.setTimestamp(6, Timestamp.valueOf(record.createdAt()));
+                        if (record.updatedAt() != null) {
+                            ps.setTimestamp(7, Timestamp.valueOf(record.updatedAt()));
+                        } else {
+                            ps.setNull(7, Types.TIMESTAMP);
+                        }
+                        ps.setLong(8, record.version());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }));
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package rheon.wsd_assignment2.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+final class SnapshotFormat {
+
+    private static final int MAGIC = 0x57534450;
+    private static final int FORMAT_VERSION = 1;
+    private static final byte RECORD = 1;
+    private static final byte END = 0;
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private SnapshotFormat() {
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+    }
+
+    static void writeRecord(DataOutputStream out, SnapshotRecord record) throws IOException {
+        out.writeByte(RECORD);
+        out.writeLong(record.id());
+        writeString(out, record.name());
+        out.writeInt(record.price());
+        writeString(out, record.description());
+        out.writeInt(record.stock());
+        writeTimestamp(out, record.createdAt());
+        writeTimestamp(out, record.updatedAt());
+        out.writeLong(record.version());
+    }
+
+    static void writeTrailer(DataOutputStream out, long count) throws IOException {
+        out.writeByte(END);
+        out.writeLong(count);
+    }
+
+    static void readHeader(ByteBuffer in) {
+        if (in.remaining() < 8 || in.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a product snapshot file");
+        }
+        int version = in.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported snapshot format version: " + version);
+        }
+    }
+
+    static SnapshotRecord readRecord(ByteBuffer in) {
+        if (in.get() == END) {
+            return null;
+        }
+        return new SnapshotRecord(
+                in.getLong(),
+                readString(in),
+                in.getInt(),
+                readString(in),
+                in.getInt(),
+                readTimestamp(in),
+                readTimestamp(in),
+                in.getLong()
+        );
+    }
+
+    static long readTrailer(ByteBuffer in) {
+        return in.getLong();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_TIMESTAMP);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        long epochSecond = in.getLong();
+        if (epochSecond == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,15 @@
+package rheon.wsd_assignment2.snapshot;
+
+import java.time.LocalDateTime;
+
+record SnapshotRecord(
+        long id,
+        String name,
+        int price,
+        String description,
+        int stock,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long version
+) {
+}
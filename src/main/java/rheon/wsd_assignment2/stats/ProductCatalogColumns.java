@@ -0,0 +1,380 @@
+package rheon.wsd_assignment2.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rheon.wsd_assignment2.dto.CatalogSummaryResponse;
+import rheon.wsd_assignment2.dto.LowStockProductResponse;
+import rheon.wsd_assignment2.dto.LowStockResponse;
+import rheon.wsd_assignment2.dto.PriceBucketResponse;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.event.ProductChangeType;
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+import rheon.wsd_assignment2.exception.ServiceUnavailableException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogColumns {
+
+    private static final String SELECT_ALL_SQL = "select id, price, stock, version from products order by id";
+    private static final String SELECT_BY_IDS_SQL = "select id, price, stock, version from products where id in (:ids)";
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PARALLEL_THRESHOLD = 16_384;
+    private static final int RELOAD_BATCH_SIZE = 1000;
+    private static final int MAX_BUCKETS = 1000;
+    private static final int MAX_LOW_STOCK_LIMIT = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${product.stats.columns.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet deleted = new BitSet();
+    private long[] ids = new long[0];
+    private int[] prices = new int[0];
+    private int[] stocks = new int[0];
+    private long[] versions = new long[0];
+    private int size;
+    private int deletedCount;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            ids = new long[INITIAL_CAPACITY];
+            prices = new int[INITIAL_CAPACITY];
+            stocks = new int[INITIAL_CAPACITY];
+            versions = new long[INITIAL_CAPACITY];
+            deleted.clear();
+            size = 0;
+            deletedCount = 0;
+            jdbcTemplate.getJdbcOperations().query(SELECT_ALL_SQL,
+                    (RowCallbackHandler) rs -> upsert(rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getLong(4)));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product catalog columns built: {} products in {} ms",
+                size, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (!enabled || event.getType() == ProductChangeType.ALL_DELETED) {
+            return;
+        }
+        if (event.getType() != ProductChangeType.DELETED && event.getProducts().isEmpty()) {
+            reload(event.getProductIds());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == ProductChangeType.DELETED) {
+                event.getProductIds().forEach(this::remove);
+                compactIfSparse();
+            } else {
+                for (ProductResponse product : event.getProducts()) {
+                    upsert(product.getId(), product.getPrice(), product.getStock(), product.getVersion());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public CatalogSummaryResponse summary() {
+        lock.readLock().lock();
+        try {
+            checkReady();
+            int[] prices = this.prices;
+            int[] stocks = this.stocks;
+            long[] totals = live().collect(
+                    () -> new long[]{0, 0, 0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE, 0},
+                    (acc, i) -> {
+                        acc[0]++;
+                        acc[1] += stocks[i];
+                        acc[2] += (long) prices[i] * stocks[i];
+                        if (stocks[i] <= 0) {
+                            acc[3]++;
+                        }
+                        acc[4] = Math.min(acc[4], prices[i]);
+                        acc[5] = Math.max(acc[5], prices[i]);
+                        acc[6] += prices[i];
+                    },
+                    (left, right) -> {
+                        for (int k = 0; k < 4; k++) {
+                            left[k] += right[k];
+                        }
+                        left[4] = Math.min(left[4], right[4]);
+                        left[5] = Math.max(left[5], right[5]);
+                        left[6] += right[6];
+                    });
+            long count = totals[0];
+            return new CatalogSummaryResponse(
+                    count,
+                    totals[1],
+                    totals[2],
+                    totals[3],
+                    count > 0 ? (int) totals[4] : null,
+                    count > 0 ? (int) totals[5] : null,
+                    count > 0 ? (double) totals[6] / count : 0
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<PriceBucketResponse> priceHistogram(int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new InvalidRequestException("Bucket width must be greater than 0");
+        }
+        lock.readLock().lock();
+        try {
+            checkReady();
+            int[] prices = this.prices;
+            IntSummaryStatistics range = live().map(i -> prices[i]).summaryStatistics();
+            if (range.getCount() == 0) {
+                return List.of();
+            }
+            int firstBucket = range.getMin() / bucketWidth;
+            int bucketCount = range.getMax() / bucketWidth - firstBucket + 1;
+            if (bucketCount > MAX_BUCKETS) {
+                throw new InvalidRequestException("Bucket width too small: at most " + MAX_BUCKETS + " buckets are returned");
+            }
+            long[] buckets = collectBuckets(bucketCount, price -> price / bucketWidth - firstBucket);
+            List<PriceBucketResponse> histogram = new ArrayList<>(bucketCount);
+            for (int b = 0; b < bucketCount; b++) {
+                int lowerBound = (firstBucket + b) * bucketWidth;
+                histogram.add(bucket(buckets, b, lowerBound, lowerBound + bucketWidth));
+            }
+            return histogram;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<PriceBucketResponse> priceBands(List<Integer> bounds) {
+        if (bounds.isEmpty() || bounds.size() >= MAX_BUCKETS) {
+            throw new InvalidRequestException("Between 1 and " + (MAX_BUCKETS - 1) + " band bounds are required");
+        }
+        int[] upperBounds = bounds.stream().mapToInt(Integer::intValue).toArray();
+        for (int b = 0; b < upperBounds.length; b++) {
+            if (upperBounds[b] <= 0 || b > 0 && upperBounds[b] <= upperBounds[b - 1]) {
+                throw new InvalidRequestException("Band bounds must be positive and strictly increasing");
+            }
+        }
+        lock.readLock().lock();
+        try {
+            checkReady();
+            long[] buckets = collectBuckets(upperBounds.length + 1, price -> {
+                int index = Arrays.binarySearch(upperBounds, price);
+                return index >= 0 ? index + 1 : -index - 1;
+            });
+            List<PriceBucketResponse> bands = new ArrayList<>(upperBounds.length + 1);
+            for (int b = 0; b <= upperBounds.length; b++) {
+                bands.add(bucket(buckets, b,
+                        b == 0 ? 0 : upperBounds[b - 1],
+                        b < upperBounds.length ? upperBounds[b] : null));
+            }
+            return bands;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LowStockResponse lowStock(int threshold, int limit) {
+        if (limit < 1 || limit > MAX_LOW_STOCK_LIMIT) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_LOW_STOCK_LIMIT);
+        }
+        lock.readLock().lock();
+        try {
+            checkReady();
+            long[] ids = this.ids;
+            int[] prices = this.prices;
+            int[] stocks = this.stocks;
+            // Stock in the high half and row index in the low half: one primitive sort orders by stock, then id
+            long[] keys = live()
+                    .filter(i -> stocks[i] < threshold)
+                    .mapToLong(i -> ((long) stocks[i] << 32) | i)
+                    .toArray();
+            if (keys.length >= PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(keys);
+            } else {
+                Arrays.sort(keys);
+            }
+            List<LowStockProductResponse> products = new ArrayList<>(Math.min(limit, keys.length));
+            for (int k = 0; k < keys.length && k < limit; k++) {
+                int i = (int) keys[k];
+                products.add(new LowStockProductResponse(ids[i], prices[i], stocks[i]));
+            }
+            return new LowStockResponse(threshold, keys.length, products);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reload(List<Long> productIds) {
+        for (int from = 0; from < productIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<Long> batch = productIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, productIds.size()));
+            List<int[]> rows = new ArrayList<>(batch.size());
+            List<Long> found = new ArrayList<>(batch.size());
+            List<Long> foundVersions = new ArrayList<>(batch.size());
+            jdbcTemplate.query(SELECT_BY_IDS_SQL, Map.of("ids", batch), (RowCallbackHandler) rs -> {
+                found.add(rs.getLong(1));
+                rows.add(new int[]{rs.getInt(2), rs.getInt(3)});
+                foundVersions.add(rs.getLong(4));
+            });
+            Set<Long> present = new HashSet<>(found);
+            lock.writeLock().lock();
+            try {
+                for (int r = 0; r < rows.size(); r++) {
+                    upsert(found.get(r), rows.get(r)[0], rows.get(r)[1], foundVersions.get(r));
+                }
+                for (Long id : batch) {
+                    if (!present.contains(id)) {
+                        remove(id);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void upsert(long id, int price, int stock, long version) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            index = -index - 1;
+            ensureCapacity(size + 1);
+            if (index < size) {
+                System.arraycopy(ids, index, ids, index + 1, size - index);
+                System.arraycopy(prices, index, prices, index + 1, size - index);
+                System.arraycopy(stocks, index, stocks, index + 1, size - index);
+                System.arraycopy(versions, index, versions, index + 1, size - index);
+                for (int i = deleted.previousSetBit(size - 1); i >= index; i = deleted.previousSetBit(i - 1)) {
+                    deleted.clear(i);
+                    deleted.set(i + 1);
+                }
+            }
+            ids[index] = id;
+            size++;
+        } else if (deleted.get(index) || version <= versions[index]) {
+            // Ids are never reused, so a deleted row stays deleted; listeners and reloads can deliver older rows late
+            return;
+        }
+        prices[index] = price;
+        stocks[index] = stock;
+        versions[index] = version;
+    }
+
+    private void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0 && !deleted.get(index)) {
+            deleted.set(index);
+            deletedCount++;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (deletedCount < INITIAL_CAPACITY || deletedCount < size / 4) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < size; i++) {
+            if (!deleted.get(i)) {
+                ids[live] = ids[i];
+                prices[live] = prices[i];
+                stocks[live] = stocks[i];
+                versions[live] = versions[i];
+                live++;
+            }
+        }
+        size = live;
+        deleted.clear();
+        deletedCount = 0;
+        int capacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+        if (capacity < ids.length) {
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            stocks = Arrays.copyOf(stocks, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(INITIAL_CAPACITY, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        stocks = Arrays.copyOf(stocks, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private IntStream live() {
+        IntStream rows = IntStream.range(0, size);
+        if (size >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        if (deletedCount == 0) {
+            return rows;
+        }
+        BitSet deleted = this.deleted;
+        return rows.filter(i -> !deleted.get(i));
+    }
+
+    private long[] collectBuckets(int bucketCount, IntUnaryOperator bucketOfPrice) {
+        int[] prices = this.prices;
+        int[] stocks = this.stocks;
+        return live().collect(
+                () -> new long[bucketCount * 3],
+                (acc, i) -> {
+                    int b = bucketOfPrice.applyAsInt(prices[i]) * 3;
+                    acc[b]++;
+                    acc[b + 1] += stocks[i];
+                    acc[b + 2] += (long) prices[i] * stocks[i];
+                },
+                (left, right) -> {
+                    for (int k = 0; k < left.length; k++) {
+                        left[k] += right[k];
+                    }
+                });
+    }
+
+    private static PriceBucketResponse bucket(long[] buckets, int b, int lowerBound, Integer upperBound) {
+        return new PriceBucketResponse(lowerBound, upperBound, buckets[b * 3], buckets[b * 3 + 1], buckets[b * 3 + 2]);
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new ServiceUnavailableException("Product statistics are not available yet");
+        }
+    }
+}
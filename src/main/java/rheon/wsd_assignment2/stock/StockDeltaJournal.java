@@ -0,0 +1,121 @@
+package rheon.wsd_assignment2.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class StockDeltaJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "stock-delta-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int RECORD_SIZE = Long.BYTES * 2;
+    static final int MAX_GROUP_SIZE = 4096;
+
+    private final Path directory;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * MAX_GROUP_SIZE);
+    private long segmentSequence;
+    private Path activeSegment;
+    private FileChannel channel;
+
+    StockDeltaJournal(Path directory) throws IOException {
+        this(directory, 0);
+    }
+
+    StockDeltaJournal(Path directory, long lastAppliedSegment) throws IOException {
+        this.directory = directory;
+        this.segmentSequence = lastAppliedSegment;
+        Files.createDirectories(directory);
+        for (Path segment : segments()) {
+            segmentSequence = Math.max(segmentSequence, sequenceOf(segment));
+        }
+    }
+
+    List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)));
+        return segments;
+    }
+
+    void open() throws IOException {
+        segmentSequence++;
+        activeSegment = directory.resolve(SEGMENT_PREFIX + segmentSequence + SEGMENT_SUFFIX);
+        channel = FileChannel.open(activeSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    void append(long productId, long delta) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            write();
+        }
+        buffer.putLong(productId).putLong(delta);
+    }
+
+    void write() throws IOException {
+        buffer.flip();
+        try {
+            if (!buffer.hasRemaining()) {
+                return;
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    Path rotate() throws IOException {
+        write();
+        Path sealed = activeSegment;
+        channel.close();
+        open();
+        return sealed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            write();
+            channel.close();
+        }
+    }
+
+    static Map<Long, Long> read(List<Path> segments) throws IOException {
+        Map<Long, Long> deltas = new HashMap<>();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096);
+        for (Path segment : segments) {
+            try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                buffer.clear();
+                while (in.read(buffer) > 0 || buffer.position() > 0) {
+                    buffer.flip();
+                    if (buffer.remaining() < RECORD_SIZE) {
+                        // a torn record at the tail of the last write is ignored
+                        break;
+                    }
+                    while (buffer.remaining() >= RECORD_SIZE) {
+                        deltas.merge(buffer.getLong(), buffer.getLong(), Long::sum);
+                    }
+                    buffer.compact();
+                }
+            }
+        }
+        return deltas;
+    }
+
+    static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,367 @@
+package rheon.wsd_assignment2.stock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import rheon.wsd_assignment2.config.CacheConfig;
+import rheon.wsd_assignment2.dto.HotStockResponse;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.exception.InsufficientStockException;
+import rheon.wsd_assignment2.exception.InternalServerException;
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+import rheon.wsd_assignment2.exception.ResourceNotFoundException;
+import rheon.wsd_assignment2.exception.ServiceUnavailableException;
+import rheon.wsd_assignment2.repository.ProductRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockWriteBehind {
+
+    private static final String FLUSH_SQL = "update products set stock = stock + ?, updated_at = ?, version = version + 1 where id = ?";
+    private static final String SELECT_CHECKPOINT_SQL = "select last_segment from stock_journal_checkpoints where id = 1";
+    private static final String MERGE_CHECKPOINT_SQL = "merge into stock_journal_checkpoints (id, last_segment) key (id) values (1, ?)";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${product.stock.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${product.stock.write-behind.hot-product-ids:}")
+    private List<Long> hotProductIds;
+
+    @Value("${product.stock.write-behind.journal-dir:${java.io.tmpdir}/wsd-stock-journal}")
+    private Path journalDirectory;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, StripedStockCounter> retiredCounters = new HashMap<>();
+    private final List<Path> sealedSegments = new ArrayList<>();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> unflushed = new HashMap<>();
+    private final int stripes = stripeCount();
+    private final BlockingQueue<JournalWrite> journalQueue = new LinkedBlockingQueue<>();
+    private StockDeltaJournal journal;
+    private Thread journalWriter;
+    private volatile boolean running;
+    private List<Path> segmentsToReplay = List.of();
+    private boolean dirty;
+
+    @PostConstruct
+    void openJournal() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new StockDeltaJournal(journalDirectory, lastAppliedSegment());
+        segmentsToReplay = journal.segments();
+        journal.open();
+        running = true;
+        journalWriter = Thread.ofPlatform().name("stock-journal-writer").daemon().start(this::writeJournal);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        replay(segmentsToReplay);
+        segmentsToReplay = List.of();
+        for (Long id : hotProductIds) {
+            try {
+                track(id);
+            } catch (ResourceNotFoundException e) {
+                log.warn("Skipping unknown hot product id {}", id);
+            }
+        }
+    }
+
+    public boolean isTracked(Long id) {
+        return enabled && counters.containsKey(id);
+    }
+
+    public boolean hasTrackedProducts() {
+        return enabled && !counters.isEmpty();
+    }
+
+    public int adjust(Long id, int delta) {
+        StripedStockCounter counter = counters.get(id);
+        if (counter == null) {
+            throw new ResourceNotFoundException("Product is not in write-behind stock mode: " + id);
+        }
+        if (!counter.tryAdd(delta)) {
+            throw new InsufficientStockException("Insufficient stock for product id: " + id);
+        }
+        if (delta > 0 && counter.sum() > Integer.MAX_VALUE) {
+            counter.add(-delta);
+            throw new InvalidRequestException("Stock adjustment overflows for product id: " + id);
+        }
+        JournalWrite write = new JournalWrite(id, counter, delta, new CompletableFuture<>());
+        lifecycleLock.readLock().lock();
+        try {
+            if (!running) {
+                counter.add(-delta);
+                throw new ServiceUnavailableException("Stock journal is shutting down");
+            }
+            journalQueue.add(write);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        try {
+            write.written().join();
+        } catch (CompletionException e) {
+            counter.add(-delta);
+            throw (RuntimeException) e.getCause();
+        }
+        return (int) counter.sum();
+    }
+
+    public ProductResponse overlay(ProductResponse product) {
+        StripedStockCounter counter = enabled ? counters.get(product.getId()) : null;
+        return counter != null ? product.withStock((int) counter.sum()) : product;
+    }
+
+    public HotStockResponse track(Long id) {
+        if (!enabled) {
+            throw new InvalidRequestException("Write-behind stock mode is disabled");
+        }
+        // The counter is installed while the row is locked, so no direct adjust can commit in between
+        StripedStockCounter counter = transactionTemplate.execute(status -> {
+            Integer stock = productRepository.lockStockById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+            return counters.computeIfAbsent(id, key -> new StripedStockCounter(stock, stripes));
+        });
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            cache.evict(id);
+        }
+        log.info("Product {} switched to write-behind stock mode (stock={})", id, counter.sum());
+        return new HotStockResponse(id, counter.sum(), counter.getPending());
+    }
+
+    public void untrack(Long id) {
+        journalLock.lock();
+        try {
+            StripedStockCounter counter = counters.remove(id);
+            if (counter == null) {
+                throw new ResourceNotFoundException("Product is not in write-behind stock mode: " + id);
+            }
+            retiredCounters.put(id, counter);
+        } finally {
+            journalLock.unlock();
+        }
+        flush();
+        log.info("Product {} switched back to direct stock updates", id);
+    }
+
+    public List<HotStockResponse> getTrackedProducts() {
+        List<HotStockResponse> tracked = new ArrayList<>();
+        counters.forEach((id, counter) -> tracked.add(new HotStockResponse(id, counter.sum(), counter.getPending())));
+        return tracked;
+    }
+
+    @Scheduled(fixedDelayString = "${product.stock.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        Map<Long, Long> batch = new HashMap<>(unflushed);
+        unflushed.clear();
+        try {
+            journalLock.lock();
+            try {
+                if (!dirty && batch.isEmpty()) {
+                    return;
+                }
+                counters.forEach((id, counter) -> drainInto(batch, id, counter));
+                retiredCounters.forEach((id, counter) -> drainInto(batch, id, counter));
+                retiredCounters.clear();
+                sealedSegments.add(journal.rotate());
+                dirty = false;
+            } finally {
+                journalLock.unlock();
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch, StockDeltaJournal.sequenceOf(sealedSegments.get(sealedSegments.size() - 1)));
+                batch.clear();
+            }
+            for (Path segment : sealedSegments) {
+                Files.deleteIfExists(segment);
+            }
+            sealedSegments.clear();
+        } catch (Exception e) {
+            unflushed.putAll(batch);
+            log.error("Stock write-behind flush failed, deltas stay journaled and will be retried", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        // Once running is false under the write lock nothing else is enqueued, so the writer drains what is left and exits
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        journalWriter.join();
+        flush();
+        journal.close();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case DELETED -> event.getProductIds().forEach(counters::remove);
+            default -> {
+            }
+        }
+    }
+
+    private void writeJournal() {
+        List<JournalWrite> group = new ArrayList<>(StockDeltaJournal.MAX_GROUP_SIZE);
+        try {
+            while (running || !journalQueue.isEmpty()) {
+                JournalWrite first = journalQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                journalQueue.drainTo(group, StockDeltaJournal.MAX_GROUP_SIZE - 1);
+                commit(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<JournalWrite> group) {
+        List<JournalWrite> accepted = new ArrayList<>(group.size());
+        journalLock.lock();
+        try {
+            for (JournalWrite write : group) {
+                if (counters.get(write.productId()) == write.counter()) {
+                    journal.append(write.productId(), write.delta());
+                    accepted.add(write);
+                } else {
+                    write.written().completeExceptionally(new ResourceNotFoundException(
+                            "Product is not in write-behind stock mode: " + write.productId()));
+                }
+            }
+            journal.write();
+            for (JournalWrite write : accepted) {
+                write.counter().addPending(write.delta());
+                dirty = true;
+            }
+        } catch (IOException | RuntimeException e) {
+            InternalServerException failure = new InternalServerException("Failed to journal stock delta", e);
+            group.forEach(write -> write.written().completeExceptionally(failure));
+            return;
+        } finally {
+            journalLock.unlock();
+        }
+        accepted.forEach(write -> write.written().complete(null));
+    }
+
+    private static int stripeCount() {
+        int processors = Math.min(64, Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(Math.max(1, processors - 1)) << 1;
+    }
+
+    private void drainInto(Map<Long, Long> batch, Long id, StripedStockCounter counter) {
+        long delta = counter.drainPending();
+        if (delta != 0) {
+            batch.merge(id, delta, Long::sum);
+        }
+    }
+
+    // The checkpoint commits with the stock update, so segments up to it are never applied twice
+    private void write(Map<Long, Long> batch, long lastSegment) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(batch.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, entries, entries.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+            });
+            jdbcTemplate.update(MERGE_CHECKPOINT_SQL, lastSegment);
+            eventPublisher.publishEvent(ProductChangeEvent.stockUpdated(List.copyOf(batch.keySet())));
+        });
+    }
+
+    void replay(List<Path> segments) throws IOException {
+        if (segments.isEmpty()) {
+            return;
+        }
+        long checkpoint = lastAppliedSegment();
+        List<Path> pending = segments.stream()
+                .filter(segment -> StockDeltaJournal.sequenceOf(segment) > checkpoint)
+                .toList();
+        Map<Long, Long> deltas = StockDeltaJournal.read(pending);
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            write(deltas, StockDeltaJournal.sequenceOf(pending.get(pending.size() - 1)));
+        }
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+        }
+        log.info("Replayed {} stock journal segment(s) covering {} product(s), skipped {} already applied",
+                pending.size(), deltas.size(), segments.size() - pending.size());
+    }
+
+    long lastAppliedSegment() {
+        return jdbcTemplate.queryForList(SELECT_CHECKPOINT_SQL, Long.class).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private record JournalWrite(Long productId, StripedStockCounter counter, long delta, CompletableFuture<Void> written) {
+    }
+}
@@ -0,0 +1,114 @@
+package rheon.wsd_assignment2.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+class StripedStockCounter {
+
+    // 8 longs = 64 bytes, so neighbouring stripes never share a cache line
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+    private final ReentrantLock shortfallLock = new ReentrantLock();
+    private long pendingDelta;
+
+    StripedStockCounter(long initialStock, int stripes) {
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        this.mask = stripes - 1;
+        long share = initialStock / stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PADDING, share);
+        }
+        cells.addAndGet(0, initialStock - share * stripes);
+    }
+
+    boolean tryAdd(long delta) {
+        int home = ThreadLocalRandom.current().nextInt() & mask;
+        if (delta >= 0) {
+            cells.addAndGet(home * PADDING, delta);
+            return true;
+        }
+        if (take(home, -delta)) {
+            return true;
+        }
+
+        // Two decrements can each strand part of the stock and both come up short, so retry one at a time
+        shortfallLock.lock();
+        try {
+            return take(home, -delta);
+        } finally {
+            shortfallLock.unlock();
+        }
+    }
+
+    private boolean take(int home, long needed) {
+        long taken = 0;
+        for (int i = 0; i <= mask && taken < needed; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            long available = cells.get(index);
+            while (available > 0) {
+                long take = Math.min(available, needed - taken);
+                if (cells.compareAndSet(index, available, available - take)) {
+                    taken += take;
+                    break;
+                }
+                available = cells.get(index);
+            }
+        }
+        if (taken < needed) {
+            cells.addAndGet(home * PADDING, taken);
+            return false;
+        }
+        return true;
+    }
+
+    void add(long delta) {
+        int home = ThreadLocalRandom.current().nextInt() & mask;
+        if (delta >= 0) {
+            cells.addAndGet(home * PADDING, delta);
+            return;
+        }
+
+        long remaining = -delta;
+        for (int i = 0; i <= mask && remaining > 0; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            long available = cells.get(index);
+            while (available > 0) {
+                long take = Math.min(available, remaining);
+                if (cells.compareAndSet(index, available, available - take)) {
+                    remaining -= take;
+                    break;
+                }
+                available = cells.get(index);
+            }
+        }
+        if (remaining > 0) {
+            cells.addAndGet(home * PADDING, -remaining);
+        }
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    // pendingDelta is only touched while StockWriteBehind holds its journal lock
+    void addPending(long delta) {
+        pendingDelta += delta;
+    }
+
+    long drainPending() {
+        long drained = pendingDelta;
+        pendingDelta = 0;
+        return drained;
+    }
+
+    long getPending() {
+        return pendingDelta;
+    }
+}
@@ -0,0 +1,243 @@
+package rheon.wsd_assignment2.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rheon.wsd_assignment2.dto.ProductChangeNotification;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.event.ProductChangeType;
+import rheon.wsd_assignment2.exception.InvalidRequestException;
+import rheon.wsd_assignment2.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class ProductChangeStream {
+
+    private static final String CHANGE_EVENT = "product-change";
+    private static final String RESET_EVENT = "reset";
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    @Value("${product.changes.replay-size:10000}")
+    private int replaySize;
+
+    @Value("${product.changes.replay-max-ids:100000}")
+    private long replayMaxIds;
+
+    @Value("${product.changes.subscriber-buffer-size:1024}")
+    private int subscriberBufferSize;
+
+    @Value("${product.changes.max-subscribers:100}")
+    private int maxSubscribers;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ProductChangeNotification[] ring;
+    private long oldestSequence = 1;
+    private long latestSequence;
+    private long retainedIds;
+
+    @PostConstruct
+    void init() {
+        ring = new ProductChangeNotification[replaySize];
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (event.isPurge() && event.getType() != ProductChangeType.ALL_DELETED) {
+            return;
+        }
+        lock.lock();
+        try {
+            long sequence = ++latestSequence;
+            ProductChangeNotification notification = new ProductChangeNotification(epoch, sequence, event.getType(),
+                    event.getProductIds(), event.getUpToProductId(), LocalDateTime.now());
+            if (sequence - oldestSequence >= ring.length) {
+                evictOldest();
+            }
+            ring[(int) (sequence % ring.length)] = notification;
+            retainedIds += notification.getProductIds().size();
+            while (retainedIds > replayMaxIds && oldestSequence < sequence) {
+                evictOldest();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(notification);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOldest() {
+        int index = (int) (oldestSequence % ring.length);
+        retainedIds -= ring[index].getProductIds().size();
+        ring[index] = null;
+        oldestSequence++;
+    }
+
+    public SseEmitter subscribe(String resumeFrom) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change stream subscribers, retry later");
+        }
+        Long resumeSequence = resumeFrom != null ? parseSequence(resumeFrom.trim()) : null;
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber;
+        lock.lock();
+        try {
+            subscriber = new Subscriber(emitter, resumeSequence != null ? resumeSequence : latestSequence,
+                    resumeFrom != null && resumeSequence == null);
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start();
+        log.info("Change stream subscriber connected (since {}), {} active", resumeFrom, subscribers.size());
+        return emitter;
+    }
+
+    // Event ids are "<epoch>-<sequence>"; a position from another process (or without an epoch) cannot be resumed
+    private Long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        try {
+            long sequence = Long.parseLong(eventId.substring(separator + 1));
+            return separator > 0 && eventId.substring(0, separator).equals(epoch) ? sequence : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid change stream position: " + eventId);
+        }
+    }
+
+    private CatchUp catchUp(Subscriber subscriber) {
+        lock.lock();
+        try {
+            subscriber.queue.clear();
+            subscriber.lagging = false;
+            long oldest = oldestSequence;
+            boolean gap = subscriber.otherEpoch
+                    || subscriber.lastSent > latestSequence
+                    || subscriber.lastSent + 1 < oldest;
+            subscriber.otherEpoch = false;
+            long from = gap ? oldest : subscriber.lastSent + 1;
+            List<ProductChangeNotification> events = new ArrayList<>((int) Math.max(0, latestSequence - from + 1));
+            for (long sequence = from; sequence <= latestSequence; sequence++) {
+                events.add(ring[(int) (sequence % ring.length)]);
+            }
+            return new CatchUp(gap, oldest, latestSequence, events);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CatchUp(boolean gap, long oldestSequence, long latestSequence,
+                           List<ProductChangeNotification> events) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ProductChangeNotification> queue = new ArrayBlockingQueue<>(subscriberBufferSize);
+        private volatile boolean lagging = true;
+        private volatile boolean closed;
+        private volatile long lastSent;
+        private boolean otherEpoch;
+        private Thread sender;
+
+        private Subscriber(SseEmitter emitter, long lastSent, boolean otherEpoch) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+            this.otherEpoch = otherEpoch;
+        }
+
+        private void offer(ProductChangeNotification notification) {
+            if (lagging || queue.offer(notification)) {
+                return;
+            }
+            lagging = true;
+            queue.clear();
+            queue.offer(notification);
+        }
+
+        private void start() {
+            sender = Thread.ofVirtual().name("product-change-stream").start(this::run);
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    if (lagging) {
+                        CatchUp catchUp = catchUp(this);
+                        if (catchUp.gap()) {
+                            emitter.send(SseEmitter.event()
+                                    .name(RESET_EVENT)
+                                    .data(Map.of("epoch", epoch,
+                                            "oldestSequence", catchUp.oldestSequence(),
+                                            "latestSequence", catchUp.latestSequence()), MediaType.APPLICATION_JSON));
+                        }
+                        for (ProductChangeNotification notification : catchUp.events()) {
+                            send(notification);
+                        }
+                        continue;
+                    }
+                    ProductChangeNotification notification = queue.poll(HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                    if (notification == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else if (!lagging) {
+                        send(notification);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change stream subscriber disconnected: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private void send(ProductChangeNotification notification) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(notification.getEpoch() + "-" + notification.getSequence())
+                    .name(CHANGE_EVENT)
+                    .data(notification, MediaType.APPLICATION_JSON));
+            lastSent = notification.getSequence();
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (subscribers.remove(this)) {
+                log.info("Change stream subscriber disconnected, {} active", subscribers.size());
+            }
+            if (sender != null && sender != Thread.currentThread()) {
+                sender.interrupt();
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package rheon.wsd_assignment2.coalesce;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.service.ProductService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SingleFlightAspectTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readsOutsideTransactionsAreCoalesced() {
+        Long id = productService.createProduct(new ProductCreateRequest("coalesced-read", 1000, null, 5)).getId();
+        double executed = count("product", "executed");
+
+        productService.getProductById(id);
+
+        assertThat(count("product", "executed")).isEqualTo(executed + 1);
+    }
+
+    @Test
+    void readsInsideWriteTransactionsBypassCoalescing() {
+        Long id = productService.createProduct(new ProductCreateRequest("bypassed-read", 1000, null, 5)).getId();
+        double bypassed = count("product", "bypassed");
+
+        transactionTemplate.executeWithoutResult(status -> productService.getProductById(id));
+
+        assertThat(count("product", "bypassed")).isEqualTo(bypassed + 1);
+    }
+
+    private double count(String name, String outcome) {
+        Counter counter = meterRegistry.find("singleflight.calls").tag("name", name).tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,83 @@
+package rheon.wsd_assignment2.coalesce;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    void concurrentCallersJoinTheInFlightCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("product", 1L, () -> {
+                    started.countDown();
+                    await(release);
+                    return "v" + loads.incrementAndGet();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("product", 1L, () -> "v" + loads.incrementAndGet()));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void callersAfterInvalidateDoNotJoinAnOlderCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("product", 1L, () -> {
+                    started.countDown();
+                    await(release);
+                    return "before-write";
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.invalidate();
+        String fresh = singleFlight.execute("product", 1L, () -> "after-write");
+        release.countDown();
+
+        assertThat(fresh).isEqualTo("after-write");
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before-write");
+        assertThat(count("coalesced")).isZero();
+    }
+
+    private double count(String outcome) {
+        var counter = meterRegistry.find("singleflight.calls").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private void awaitCount(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package rheon.wsd_assignment2.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import rheon.wsd_assignment2.common.SearchCursor;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.service.ProductService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void stockAdjustmentPastIntegerRangeReturnsBadRequest() throws Exception {
+        Long id = productService.createProduct(new ProductCreateRequest("overflow-stock", 1000, null, Integer.MAX_VALUE)).getId();
+
+        mockMvc.perform(patch("/api/products/{id}/stock", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/products/{id}/stock", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":-1}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void indexCursorIsRejectedWhileTheIndexIsUnavailable() throws Exception {
+        String cursor = new SearchCursor("index-only", 1L, true).encode();
+
+        mockMvc.perform(get("/api/products/search").param("name", "index-only").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void productResponsesVaryByAcceptIncludingNotModified() throws Exception {
+        Long id = productService.createProduct(new ProductCreateRequest("vary-accept", 1000, null, 5)).getId();
+
+        String etag = mockMvc.perform(get("/api/products/{id}", id).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/products/{id}", id)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+}
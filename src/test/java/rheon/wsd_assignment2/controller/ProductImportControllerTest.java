@@ -0,0 +1,96 @@
+package rheon.wsd_assignment2.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void completedImportReturnsOk() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("name,price,stock\nimport-ok-1,1000,5\nimport-ok-2,2000,7\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"));
+    }
+
+    @Test
+    void quotedMultiLineFieldsSurviveImport() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("name,price,description,stock\nimport-multiline,1000,\"first line\nsecond, \"\"quoted\"\"\",3\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.progress.created").value(1));
+
+        mockMvc.perform(get("/api/products/search").param("name", "import-multiline"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description").value("first line\nsecond, \"quoted\""))
+                .andExpect(jsonPath("$.data[0].stock").value(3));
+    }
+
+    @Test
+    void oversizedNdjsonLineIsRejectedAsRowError() throws Exception {
+        String oversized = "{\"name\":\"" + "x".repeat(1 << 20) + "\",\"price\":1000,\"stock\":1}";
+        mockMvc.perform(post("/api/products/import")
+                        .param("format", "ndjson")
+                        .contentType("application/x-ndjson")
+                        .content(oversized + "\n{\"name\":\"import-after-oversized\",\"price\":1000,\"stock\":1}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.progress.created").value(1))
+                .andExpect(jsonPath("$.data.progress.invalid").value(1))
+                .andExpect(jsonPath("$.data.progress.errors[0]").value("line 1: Record exceeds 1048576 bytes"));
+    }
+
+    @Test
+    void oversizedCsvRecordIsRejectedAsRowError() throws Exception {
+        String oversized = "import-oversized,1000,\"" + "x\n".repeat(600_000) + "\",3";
+        mockMvc.perform(post("/api/products/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("name,price,description,stock\n" + oversized + "\nimport-after-oversized-csv,1000,,2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.progress.created").value(1))
+                .andExpect(jsonPath("$.data.progress.invalid").value(1))
+                .andExpect(jsonPath("$.data.progress.errors[0]").value("line 2: Record exceeds 1048576 bytes"));
+    }
+
+    @Test
+    void unterminatedQuotedFieldReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("name,price,description,stock\nimport-open,1000,\"never closed,3\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("Invalid import data: Unterminated quoted field starting at line 2"));
+    }
+
+    @Test
+    void unreadableImportReturnsBadRequestWithJobMessage() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("title,cost\nimport-bad,1000\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.data.status").value("FAILED"))
+                .andExpect(jsonPath("$.message")
+                        .value("Invalid import data: CSV header must contain name, price and stock columns"));
+    }
+}
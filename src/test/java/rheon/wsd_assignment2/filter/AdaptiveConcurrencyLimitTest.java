@@ -0,0 +1,74 @@
+package rheon.wsd_assignment2.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST_RTT = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void saturatedWindowsWithSteadyLatencyGrowTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 8, 1000);
+
+        for (int window = 0; window < 4; window++) {
+            runWindow(limit, limit.getLimit(), FAST_RTT);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(100);
+    }
+
+    @Test
+    void risingLatencyShrinksTheLimitDownToTheMinimum() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 80, 1000);
+        runWindow(limit, 100, FAST_RTT);
+
+        runWindow(limit, 100, SLOW_RTT);
+        assertThat(limit.getLimit()).isLessThan(100);
+
+        for (int window = 0; window < 4; window++) {
+            runWindow(limit, 100, SLOW_RTT);
+        }
+        assertThat(limit.getLimit()).isEqualTo(80);
+    }
+
+    @Test
+    void idleWindowsLeaveTheLimitUnchanged() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 8, 1000);
+
+        for (int window = 0; window < 3; window++) {
+            runWindow(limit, 10, FAST_RTT);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void tryAcquireHonoursTheClassShare() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 4);
+
+        assertThat(limit.tryAcquire(0.5)).isTrue();
+        assertThat(limit.tryAcquire(0.5)).isTrue();
+        assertThat(limit.tryAcquire(0.5)).isFalse();
+        assertThat(limit.tryAcquire(1.0)).isTrue();
+        assertThat(limit.tryAcquire(1.0)).isTrue();
+        assertThat(limit.tryAcquire(1.0)).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(4);
+    }
+
+    // A window closes on the first sample after 100ms, so only the last release waits for it
+    private static void runWindow(AdaptiveConcurrencyLimit limit, int requests, long rttNanos) throws InterruptedException {
+        for (int i = 0; i < requests; i++) {
+            limit.acquireUnconditionally();
+        }
+        for (int i = 1; i < requests; i++) {
+            limit.release(rttNanos);
+        }
+        Thread.sleep(110);
+        limit.release(rttNanos);
+    }
+}
@@ -0,0 +1,76 @@
+package rheon.wsd_assignment2.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        filter = new AdmissionControlFilter(true, 4, 1, 4, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void bulkIsShedBeforeReadsAndWrites() throws Exception {
+        List<MockHttpServletResponse> responses = whileHolding(2, List.of(
+                new MockHttpServletRequest("POST", "/api/products/bulk"),
+                new MockHttpServletRequest("POST", "/api/products"),
+                new MockHttpServletRequest("GET", "/api/products/1")));
+
+        assertThat(responses.get(0).getStatus()).isEqualTo(429);
+        assertThat(responses.get(0).getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(responses.get(1).getStatus()).isEqualTo(200);
+        assertThat(responses.get(2).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void readsAreShedOnceTheLimitIsReached() throws Exception {
+        List<MockHttpServletResponse> responses = whileHolding(4, List.of(
+                new MockHttpServletRequest("GET", "/api/products/1"),
+                new MockHttpServletRequest("PUT", "/api/products/1")));
+
+        assertThat(responses.get(0).getStatus()).isEqualTo(503);
+        assertThat(responses.get(1).getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void stockAdjustmentsAreNeverShed() throws Exception {
+        List<MockHttpServletResponse> responses = whileHolding(4, List.of(
+                new MockHttpServletRequest("PATCH", "/api/products/1/stock"),
+                new MockHttpServletRequest("PATCH", "/api/products/2/stock")));
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.getStatus()).isEqualTo(200));
+    }
+
+    // Each held read stays admitted until the probes inside the innermost chain have run
+    private List<MockHttpServletResponse> whileHolding(int held, List<MockHttpServletRequest> probes)
+            throws ServletException, IOException {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        if (held == 0) {
+            for (MockHttpServletRequest probe : probes) {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(probe, response, new MockFilterChain());
+                responses.add(response);
+            }
+            return responses;
+        }
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/" + held), new MockHttpServletResponse(),
+                (request, response) -> responses.addAll(whileHolding(held - 1, probes)));
+        return responses;
+    }
+}
@@ -0,0 +1,57 @@
+package rheon.wsd_assignment2.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import rheon.wsd_assignment2.common.CursorPage;
+import rheon.wsd_assignment2.common.SearchCursor;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.dto.ProductResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "product.search.ngram-index.enabled=true")
+class ProductSearchIndexTest {
+
+    private static final long UNINDEXED_ID = 9_000_000_001L;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pageIsFilledPastRowsTheIndexStillLists() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(productService.createProduct(new ProductCreateRequest("stale-index-" + i, 1000, null, 1)).getId());
+        }
+        jdbcTemplate.update("delete from products where id in (?, ?)", ids.get(0), ids.get(1));
+
+        CursorPage<ProductResponse> first = productService.searchProducts("stale-index-", null, 2);
+        assertThat(first.getContent()).extracting(ProductResponse::getId).containsExactly(ids.get(2), ids.get(3));
+        assertThat(first.getNextCursor()).isNotNull();
+
+        CursorPage<ProductResponse> second = productService.searchProducts("stale-index-", first.getNextCursor(), 2);
+        assertThat(second.getContent()).extracting(ProductResponse::getId).containsExactly(ids.get(4));
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorContinuesOnThePathThatIssuedIt() {
+        Long id = productService.createProduct(new ProductCreateRequest("cursor-path-0", 1000, null, 1)).getId();
+        jdbcTemplate.update("insert into products (id, name, price, stock, created_at, version) "
+                + "values (?, 'cursor-path-1', 1000, 1, current_timestamp, 0)", UNINDEXED_ID);
+        String databaseCursor = new SearchCursor("cursor-path-0", id, false).encode();
+        String indexCursor = new SearchCursor("cursor-path-0", id, true).encode();
+
+        assertThat(productService.searchProducts("cursor-path-", databaseCursor, 10).getContent())
+                .extracting(ProductResponse::getId).containsExactly(UNINDEXED_ID);
+        assertThat(productService.searchProducts("cursor-path-", indexCursor, 10).getContent()).isEmpty();
+    }
+}
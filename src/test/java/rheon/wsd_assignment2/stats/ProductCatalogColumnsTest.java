@@ -0,0 +1,62 @@
+package rheon.wsd_assignment2.stats;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import rheon.wsd_assignment2.dto.LowStockProductResponse;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.dto.ProductResponse;
+import rheon.wsd_assignment2.dto.ProductStockUpdateRequest;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.service.ProductService;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductCatalogColumnsTest {
+
+    @Autowired
+    private ProductCatalogColumns columns;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void staleChangeEventDoesNotOverwriteNewerRow() {
+        ProductResponse created = productService.createProduct(new ProductCreateRequest("columns-stale", 1000, null, 50));
+        ProductResponse updated = productService.updateProductStock(created.getId(), new ProductStockUpdateRequest(7), null);
+        assertThat(updated.getVersion()).isGreaterThan(created.getVersion());
+
+        eventPublisher.publishEvent(ProductChangeEvent.stockUpdated(created));
+
+        assertThat(find(created.getId())).map(LowStockProductResponse::getStock).contains(7);
+    }
+
+    @Test
+    void lateChangeEventDoesNotRestoreDeletedRow() {
+        ProductResponse created = productService.createProduct(new ProductCreateRequest("columns-deleted", 1000, null, 5));
+        productService.deleteProduct(created.getId());
+
+        eventPublisher.publishEvent(ProductChangeEvent.stockUpdated(ProductResponse.builder()
+                .id(created.getId())
+                .name(created.getName())
+                .price(created.getPrice())
+                .stock(9)
+                .version(created.getVersion() + 1)
+                .build()));
+
+        assertThat(find(created.getId())).isEmpty();
+    }
+
+    private Optional<LowStockProductResponse> find(Long id) {
+        return columns.lowStock(Integer.MAX_VALUE, 1000).getProducts().stream()
+                .filter(product -> product.getId().equals(id))
+                .findFirst();
+    }
+}
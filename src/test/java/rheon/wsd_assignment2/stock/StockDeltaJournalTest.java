@@ -0,0 +1,79 @@
+package rheon.wsd_assignment2.stock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockDeltaJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deltasAcrossSegmentsAreSummedPerProduct() throws Exception {
+        StockDeltaJournal journal = new StockDeltaJournal(directory);
+        journal.open();
+        journal.append(1L, -3);
+        journal.append(2L, 10);
+        Path sealed = journal.rotate();
+        journal.append(1L, -2);
+        journal.close();
+
+        List<Path> segments = journal.segments();
+
+        assertThat(segments).hasSize(2).startsWith(sealed);
+        assertThat(StockDeltaJournal.read(segments)).isEqualTo(Map.of(1L, -5L, 2L, 10L));
+    }
+
+    @Test
+    void groupLargerThanBufferIsWrittenCompletely() throws Exception {
+        int records = StockDeltaJournal.MAX_GROUP_SIZE * 2 + 7;
+        StockDeltaJournal journal = new StockDeltaJournal(directory);
+        journal.open();
+        for (int i = 0; i < records; i++) {
+            journal.append(42L, -1);
+        }
+        journal.write();
+        journal.close();
+
+        assertThat(StockDeltaJournal.read(journal.segments())).isEqualTo(Map.of(42L, (long) -records));
+    }
+
+    @Test
+    void tornRecordAtTailIsIgnored() throws Exception {
+        StockDeltaJournal journal = new StockDeltaJournal(directory);
+        journal.open();
+        journal.append(7L, 4);
+        journal.close();
+        Path segment = journal.segments().get(0);
+        Files.write(segment, new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        assertThat(StockDeltaJournal.read(List.of(segment))).isEqualTo(Map.of(7L, 4L));
+    }
+
+    @Test
+    void reopenedJournalContinuesAfterExistingSegments() throws Exception {
+        StockDeltaJournal first = new StockDeltaJournal(directory);
+        first.open();
+        first.append(1L, 1);
+        first.close();
+        Path previous = first.segments().get(0);
+
+        StockDeltaJournal second = new StockDeltaJournal(directory);
+        List<Path> toReplay = second.segments();
+        second.open();
+        second.append(1L, 2);
+        second.close();
+
+        assertThat(toReplay).containsExactly(previous);
+        assertThat(second.segments()).hasSize(2).startsWith(previous);
+        assertThat(StockDeltaJournal.read(second.segments())).isEqualTo(Map.of(1L, 3L));
+    }
+}
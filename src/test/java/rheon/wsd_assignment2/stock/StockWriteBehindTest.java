@@ -0,0 +1,190 @@
+package rheon.wsd_assignment2.stock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import rheon.wsd_assignment2.dto.ProductCreateRequest;
+import rheon.wsd_assignment2.dto.ProductStockAdjustRequest;
+import rheon.wsd_assignment2.event.ProductChangeEvent;
+import rheon.wsd_assignment2.event.ProductChangeType;
+import rheon.wsd_assignment2.exception.InsufficientStockException;
+import rheon.wsd_assignment2.exception.ResourceNotFoundException;
+import rheon.wsd_assignment2.repository.ProductRepository;
+import rheon.wsd_assignment2.service.ProductService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@RecordApplicationEvents
+class StockWriteBehindTest {
+
+    private static final Path JOURNAL_DIRECTORY = createTempDirectory();
+
+    @DynamicPropertySource
+    static void writeBehindProperties(DynamicPropertyRegistry registry) {
+        registry.add("product.stock.write-behind.enabled", () -> "true");
+        registry.add("product.stock.write-behind.journal-dir", JOURNAL_DIRECTORY::toString);
+    }
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void concurrentDecrementsAreJournaledAndFlushedWithoutOverselling() throws Exception {
+        Long id = createProduct("hot-product", 100);
+        stockWriteBehind.track(id);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        try {
+                            stockWriteBehind.adjust(id, -1);
+                            sold.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        stockWriteBehind.flush();
+
+        assertThat(sold.get()).isEqualTo(100);
+        assertThat(rejected.get()).isEqualTo(60);
+        assertThat(productRepository.findStockById(id)).contains(0);
+    }
+
+    @Test
+    void adjustAfterUntrackIsRejected() {
+        Long id = createProduct("untracked-product", 10);
+        stockWriteBehind.track(id);
+        stockWriteBehind.adjust(id, -4);
+        stockWriteBehind.untrack(id);
+
+        assertThatThrownBy(() -> stockWriteBehind.adjust(id, -1))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(productRepository.findStockById(id)).contains(6);
+    }
+
+    @Test
+    void startSkipsUnknownHotProductIds() throws Exception {
+        Long id = createProduct("configured-hot-product", 10);
+        ReflectionTestUtils.setField(stockWriteBehind, "hotProductIds", List.of(Long.MAX_VALUE, id));
+        try {
+            stockWriteBehind.start();
+        } finally {
+            ReflectionTestUtils.setField(stockWriteBehind, "hotProductIds", List.of());
+        }
+
+        assertThat(stockWriteBehind.isTracked(id)).isTrue();
+        assertThat(stockWriteBehind.isTracked(Long.MAX_VALUE)).isFalse();
+        stockWriteBehind.untrack(id);
+    }
+
+    @Test
+    void trackedProductRoutesServiceAdjustsThroughTheCounter() {
+        Long id = createProduct("routed-product", 10);
+        productService.adjustProductStock(id, new ProductStockAdjustRequest(-3));
+        stockWriteBehind.track(id);
+
+        assertThat(productService.adjustProductStock(id, new ProductStockAdjustRequest(-2)).getStock()).isEqualTo(5);
+        stockWriteBehind.untrack(id);
+        assertThat(productRepository.findStockById(id)).contains(5);
+    }
+
+    @Test
+    void replayAppliesJournaledDeltasAndDeletesSegments() throws Exception {
+        Long id = createProduct("replayed-product", 50);
+        StockDeltaJournal journal = newReplayJournal();
+        journal.open();
+        journal.append(id, -7);
+        journal.append(id, 2);
+        journal.close();
+        List<Path> segments = journal.segments();
+
+        stockWriteBehind.replay(segments);
+
+        assertThat(productRepository.findStockById(id)).contains(45);
+        assertThat(segments).allSatisfy(segment -> assertThat(segment).doesNotExist());
+        assertThat(stockWriteBehind.lastAppliedSegment()).isEqualTo(StockDeltaJournal.sequenceOf(segments.get(0)));
+        assertThat(events.stream(ProductChangeEvent.class))
+                .anyMatch(event -> event.getType() == ProductChangeType.STOCK_UPDATED && event.getProductIds().contains(id));
+    }
+
+    @Test
+    void replaySkipsSegmentsAtOrBelowTheCheckpoint() throws Exception {
+        Long id = createProduct("replayed-twice-product", 50);
+        StockDeltaJournal journal = newReplayJournal();
+        journal.open();
+        journal.append(id, -10);
+        Path applied = journal.rotate();
+        journal.append(id, -5);
+        journal.close();
+        List<Path> segments = journal.segments();
+        jdbcTemplate.update("merge into stock_journal_checkpoints (id, last_segment) key (id) values (1, ?)",
+                StockDeltaJournal.sequenceOf(applied));
+
+        stockWriteBehind.replay(segments);
+
+        assertThat(productRepository.findStockById(id)).contains(45);
+        assertThat(segments).allSatisfy(segment -> assertThat(segment).doesNotExist());
+    }
+
+    private StockDeltaJournal newReplayJournal() throws IOException {
+        // Sequences well past the live journal's, so its checkpoint never covers them
+        return new StockDeltaJournal(Files.createTempDirectory("stock-replay"),
+                stockWriteBehind.lastAppliedSegment() + 1_000_000);
+    }
+
+    private Long createProduct(String name, int stock) {
+        return productService.createProduct(new ProductCreateRequest(name, 1000, "write-behind test", stock)).getId();
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("stock-journal-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package rheon.wsd_assignment2.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockCounterTest {
+
+    @Test
+    void initialStockIsSpreadWithoutLoss() {
+        assertThat(new StripedStockCounter(10, 4).sum()).isEqualTo(10);
+        assertThat(new StripedStockCounter(3, 8).sum()).isEqualTo(3);
+        assertThat(new StripedStockCounter(0, 16).sum()).isZero();
+    }
+
+    @Test
+    void decrementBeyondStockFailsAndLeavesStockUnchanged() {
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        assertThat(counter.tryAdd(-11)).isFalse();
+        assertThat(counter.sum()).isEqualTo(10);
+        assertThat(counter.tryAdd(-10)).isTrue();
+        assertThat(counter.sum()).isZero();
+    }
+
+    @Test
+    void decrementSpanningStripesSucceeds() {
+        StripedStockCounter counter = new StripedStockCounter(16, 8);
+
+        assertThat(counter.tryAdd(-15)).isTrue();
+        assertThat(counter.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void addRollsBackAcceptedDeltas() {
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        assertThat(counter.tryAdd(-7)).isTrue();
+        counter.add(7);
+        assertThat(counter.sum()).isEqualTo(10);
+
+        assertThat(counter.tryAdd(5)).isTrue();
+        counter.add(-5);
+        assertThat(counter.sum()).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        int stock = 1000;
+        StripedStockCounter counter = new StripedStockCounter(stock, 8);
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (counter.tryAdd(-1)) {
+                            sold.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(sold.get()).isEqualTo(stock);
+        assertThat(counter.sum()).isZero();
+    }
+
+    @Test
+    void competingMultiUnitDecrementsLetOneThrough() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 1000; round++) {
+                StripedStockCounter counter = new StripedStockCounter(10, 8);
+                Callable<Boolean> decrement = () -> {
+                    barrier.await();
+                    return counter.tryAdd(-6);
+                };
+                Future<Boolean> first = executor.submit(decrement);
+                Future<Boolean> second = executor.submit(decrement);
+
+                assertThat(first.get() ^ second.get()).isTrue();
+                assertThat(counter.sum()).isEqualTo(4);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void drainPendingResetsPendingDelta() {
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+        counter.addPending(-3);
+        counter.addPending(5);
+
+        assertThat(counter.drainPending()).isEqualTo(2);
+        assertThat(counter.getPending()).isZero();
+    }
+}